@@ -5,6 +5,7 @@ import com.paf.skillhub.Auth.models.Role;
 import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.Auth.repositories.RoleRepository;
 import com.paf.skillhub.Auth.security.jwt.JwtUtils;
+import com.paf.skillhub.Auth.security.services.RefreshTokenService;
 import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
 import com.paf.skillhub.User.services.UserService;
 import jakarta.servlet.ServletException;
@@ -41,6 +42,9 @@ public class OAuth2LoginSuccessHandler extends SavedRequestAwareAuthenticationSu
   @Autowired
   RoleRepository roleRepository;
 
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
   @Value("${frontend.url}")
   private String frontendUrl;
 
@@ -128,9 +132,12 @@ public class OAuth2LoginSuccessHandler extends SavedRequestAwareAuthenticationSu
     String email = (String) attributes.get("email");
     System.out.println("OAuth2LoginSuccessHandler: " + username + " : " + email);
 
+    // The stored user supplies the id and token version for the token's revocation check
+    Optional<User> user = email != null ? userService.findByEmail(email) : Optional.empty();
+
     // Create UserDetailsImpl instance
     UserDetailsImpl userDetails = new UserDetailsImpl(
-        null,
+        user.map(User::getUserId).orElse(null),
         username,
         email,
         null,
@@ -139,14 +146,19 @@ public class OAuth2LoginSuccessHandler extends SavedRequestAwareAuthenticationSu
             .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
             .collect(Collectors.toList())
     );
+    user.ifPresent(u -> userDetails.setTokenVersion(u.getTokenVersion()));
 
     // Generate JWT token
     String jwtToken = jwtUtils.generateTokenFromUsername(userDetails);
 
-    // Redirect to the frontend with the JWT token
-    String targetUrl = UriComponentsBuilder.fromUriString(frontendUrl + "/oauth2/redirect")
-        .queryParam("token", jwtToken)
-        .build().toUriString();
+    // Redirect to the frontend with the JWT token. The refresh token goes in the fragment, which
+    // browsers never send to a server, so it stays out of access logs and Referer headers.
+    UriComponentsBuilder target = UriComponentsBuilder
+        .fromUriString(frontendUrl + "/oauth2/redirect")
+        .queryParam("token", jwtToken);
+    user.ifPresent(u ->
+        target.fragment("refreshToken=" + refreshTokenService.issue(u.getUserId())));
+    String targetUrl = target.build().toUriString();
     this.setDefaultTargetUrl(targetUrl);
     super.onAuthenticationSuccess(request, response, authentication);
   }
@@ -7,15 +7,24 @@ import com.paf.skillhub.Auth.repositories.RoleRepository;
 import com.paf.skillhub.User.repositories.UserRepository;
 import com.paf.skillhub.Auth.security.jwt.JwtUtils;
 import com.paf.skillhub.Auth.security.request.LoginRequest;
+import com.paf.skillhub.Auth.security.request.RefreshTokenRequest;
 import com.paf.skillhub.Auth.security.request.SignupRequest;
 import com.paf.skillhub.Auth.security.response.LoginResponse;
 import com.paf.skillhub.Auth.security.response.MessageResponse;
 import com.paf.skillhub.Auth.security.response.UserInfoResponse;
+import com.paf.skillhub.Auth.security.services.RefreshTokenService;
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
 import com.paf.skillhub.User.services.UserService;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,7 +33,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -61,8 +69,21 @@ public class AuthController {
   @Autowired
   UserService userService;
 
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
+  @Autowired
+  @Qualifier("passwordHashingExecutor")
+  Executor passwordHashingExecutor;
+
   @PostMapping("/public/signin")
-  public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest)
+  public CompletableFuture<ResponseEntity<?>> authenticateUser(
+      @RequestBody LoginRequest loginRequest)
+  {
+    return onHashingExecutor(() -> signIn(loginRequest));
+  }
+
+  private ResponseEntity<?> signIn(LoginRequest loginRequest)
   {
     Authentication authentication;
     try {
@@ -76,13 +97,11 @@ public class AuthController {
       return new ResponseEntity<Object>(map, HttpStatus.NOT_FOUND);
     }
 
-    //      set the authentication
-    SecurityContextHolder.getContext().setAuthentication(authentication);
-
     // specific to our implemetation
     UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
     String jwtToken = jwtUtils.generateTokenFromUsername(userDetails);
+    String refreshToken = refreshTokenService.issue(((UserDetailsImpl) userDetails).getId());
 
     // Collect roles from the UserDetails
     List<String> roles = userDetails.getAuthorities().stream()
@@ -91,14 +110,55 @@ public class AuthController {
 
     // Prepare the response body, now including the JWT token directly in the body
     LoginResponse response = new LoginResponse(userDetails.getUsername(),
-        roles, jwtToken);
+        roles, jwtToken, refreshToken);
 
     // Return the response entity with the JWT token included in the response body
     return ResponseEntity.ok(response);
   }
 
+  // Exchanges a refresh token for a new access token and a new refresh token. The presented
+  // refresh token can't be used again.
+  @PostMapping("/public/refresh")
+  public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request)
+  {
+    if (request.getRefreshToken() == null || request.getRefreshToken().isBlank()) {
+      return ResponseEntity.badRequest()
+          .body(new MessageResponse("Error: Refresh token is required!"));
+    }
+
+    Optional<RefreshTokenService.Rotation> rotation =
+        refreshTokenService.rotate(request.getRefreshToken());
+    if (rotation.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+          .body(new MessageResponse("Error: Invalid or expired refresh token!"));
+    }
+
+    UserDetailsImpl userDetails = UserDetailsImpl.build(rotation.get().user());
+    List<String> roles = userDetails.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .collect(Collectors.toList());
+
+    return ResponseEntity.ok(new LoginResponse(userDetails.getUsername(), roles,
+        jwtUtils.generateTokenFromUsername(userDetails), rotation.get().refreshToken()));
+  }
+
+  @PostMapping("/public/logout")
+  public ResponseEntity<?> logout(@RequestBody RefreshTokenRequest request)
+  {
+    if (request.getRefreshToken() != null) {
+      refreshTokenService.revoke(request.getRefreshToken());
+    }
+    return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
+  }
+
   @PostMapping("/public/signup")
-  public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest)
+  public CompletableFuture<ResponseEntity<?>> registerUser(
+      @Valid @RequestBody SignupRequest signUpRequest)
+  {
+    return onHashingExecutor(() -> signUp(signUpRequest));
+  }
+
+  private ResponseEntity<?> signUp(SignupRequest signUpRequest)
   {
     if (userRepository.existsByUserName(signUpRequest.getUsername())) {
       return ResponseEntity.badRequest()
@@ -146,6 +206,19 @@ public class AuthController {
     return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
   }
 
+  // Sign-in and sign-up spend most of their time hashing the password, so they run on the
+  // bounded password hashing pool and free the servlet thread while they wait
+  private CompletableFuture<ResponseEntity<?>> onHashingExecutor(
+      Supplier<ResponseEntity<?>> action)
+  {
+    try {
+      return CompletableFuture.supplyAsync(action, passwordHashingExecutor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .body(new MessageResponse("Error: Too many requests, please try again shortly!")));
+    }
+  }
+
   @GetMapping("/user")
   public ResponseEntity<?> getUserDetails(@AuthenticationPrincipal UserDetails userDetails)
   {
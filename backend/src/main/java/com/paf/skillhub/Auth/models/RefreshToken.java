@@ -0,0 +1,50 @@
+package com.paf.skillhub.Auth.models;
+
+import com.paf.skillhub.User.models.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "refresh_token",
+    // Expired tokens are purged periodically
+    indexes = @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date"))
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // SHA-256 of the token handed to the client; the token itself is never stored
+  @Column(nullable = false, unique = true, length = 64)
+  private String tokenHash;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(nullable = false)
+  private Instant expiryDate;
+
+  @Column(nullable = false, updatable = false)
+  private Instant createdAt;
+
+  // Set when the token is rotated or revoked. Kept until expiry so reuse can be detected.
+  private Instant revokedAt;
+
+  @Enumerated(EnumType.STRING)
+  private RevokeReason revokeReason;
+
+  public RefreshToken(String tokenHash, User user, Instant expiryDate, Instant createdAt) {
+    this.tokenHash = tokenHash;
+    this.user = user;
+    this.expiryDate = expiryDate;
+    this.createdAt = createdAt;
+  }
+}
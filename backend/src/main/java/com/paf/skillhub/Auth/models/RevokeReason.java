@@ -0,0 +1,7 @@
+package com.paf.skillhub.Auth.models;
+
+// Why a refresh token stopped being usable. Only a ROTATED token coming back points to a
+// stolen copy; a logged-out or bulk-revoked token is simply rejected.
+public enum RevokeReason {
+  ROTATED, LOGGED_OUT, REVOKED;
+}
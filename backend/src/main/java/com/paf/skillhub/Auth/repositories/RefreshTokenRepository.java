@@ -0,0 +1,39 @@
+package com.paf.skillhub.Auth.repositories;
+
+import com.paf.skillhub.Auth.models.RefreshToken;
+import com.paf.skillhub.Auth.models.RevokeReason;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+  @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+  Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+  // Only succeeds for a token that is still active, so a token can be rotated once
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.revokedAt = :now, r.revokeReason = :reason " +
+      "WHERE r.id = :id AND r.revokedAt IS NULL")
+  int markRevoked(@Param("id") Long id, @Param("now") Instant now,
+      @Param("reason") RevokeReason reason);
+
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.revokedAt = :now, r.revokeReason = :reason " +
+      "WHERE r.user.userId = :userId AND r.revokedAt IS NULL")
+  int revokeAllForUser(@Param("userId") Long userId, @Param("now") Instant now,
+      @Param("reason") RevokeReason reason);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.user.userId = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.expiryDate < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -9,7 +9,10 @@ import com.paf.skillhub.User.repositories.UserRepository;
 import com.paf.skillhub.Auth.security.jwt.AuthEntryPointJwt;
 import com.paf.skillhub.Auth.security.jwt.AuthTokenFilter;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,7 +23,9 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -77,6 +82,7 @@ public class SecurityConfig {
             .requestMatchers("/api/csrf-token").permitAll()
             .requestMatchers("/api/auth/public/**").permitAll()
             .requestMatchers("/oauth2/**").permitAll()
+            .requestMatchers("/media/**").permitAll() // Locally stored media, public like GCS URLs
             .anyRequest().authenticated())
         .oauth2Login(oauth2 -> {
           oauth2.successHandler(oAuth2LoginSuccessHandler);
@@ -97,9 +103,25 @@ public class SecurityConfig {
     return authenticationConfiguration.getAuthenticationManager();
   }
 
+  // New hashes use security.password.encoder; hashes made with another encoder or a lower cost
+  // are upgraded on the user's next login through UserDetailsServiceImpl.updatePassword
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${security.password.encoder:bcrypt}") String encoderId,
+      @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+      @Value("${security.password.argon2.memory-kib:19456}") int argon2MemoryKib,
+      @Value("${security.password.argon2.iterations:2}") int argon2Iterations) {
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+    encoders.put("argon2", new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, argon2Iterations));
+    if (!encoders.containsKey(encoderId)) {
+      throw new IllegalArgumentException("Unknown password encoder: " + encoderId);
+    }
+
+    DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+    // Hashes stored before the {id} prefix was added are plain bcrypt
+    passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+    return passwordEncoder;
   }
 
   @Bean
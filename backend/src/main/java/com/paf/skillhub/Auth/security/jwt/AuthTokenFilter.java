@@ -1,6 +1,9 @@
 package com.paf.skillhub.Auth.security.jwt;
 
+import com.paf.skillhub.Auth.security.services.TokenVersionService;
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
 import com.paf.skillhub.Auth.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +11,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +22,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -26,6 +34,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
   @Autowired
   private UserDetailsServiceImpl userDetailsService;
 
+  @Autowired
+  private TokenVersionService tokenVersionService;
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  // Build the principal from the JWT claims instead of loading the user on every request
+  @Value("${spring.app.jwtStatelessAuth:true}")
+  private boolean statelessAuth;
+
   private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
   @Override
@@ -35,11 +53,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+      UserDetails userDetails = jwt != null ? authenticate(jwt) : null;
+      if (userDetails != null) {
         UsernamePasswordAuthenticationToken authentication =
             new UsernamePasswordAuthenticationToken(userDetails,
                 null,
@@ -57,6 +72,52 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  // Returns null for an invalid or revoked token
+  private UserDetails authenticate(String jwt) {
+    VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(jwt);
+    if (cached != null) {
+      return tokenVersionService.isCurrent(cached.userId(), cached.tokenVersion())
+          ? cached.principal() : null;
+    }
+
+    Claims claims = jwtUtils.parseJwtToken(jwt);
+    return claims != null ? loadUserDetails(jwt, claims) : null;
+  }
+
+  // Tokens issued before the version claim existed can't be revoked and always go through the
+  // user lookup
+  private UserDetails loadUserDetails(String jwt, Claims claims) {
+    Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+    Integer tokenVersion = claims.get(JwtUtils.TOKEN_VERSION_CLAIM, Integer.class);
+    if (userId == null || tokenVersion == null) {
+      return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    if (!tokenVersionService.isCurrent(userId, tokenVersion)) {
+      logger.debug("Rejected revoked JWT of user {}", userId);
+      return null;
+    }
+    if (!statelessAuth) {
+      return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    UserDetails userDetails = buildUserDetails(userId, claims);
+    verifiedTokenCache.put(jwt, new VerifiedTokenCache.VerifiedToken(userDetails, userId,
+        tokenVersion, claims.getExpiration().getTime()));
+    return userDetails;
+  }
+
+  // Principal built from the verified claims alone; the token carries no email or password
+  private UserDetails buildUserDetails(Long userId, Claims claims) {
+    String roles = claims.get(JwtUtils.ROLES_CLAIM, String.class);
+    List<GrantedAuthority> authorities = roles == null || roles.isEmpty()
+        ? List.of()
+        : Arrays.stream(roles.split(","))
+            .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+            .toList();
+    return new UserDetailsImpl(userId, claims.getSubject(), null, null, false, authorities);
+  }
+
   private String parseJwt(HttpServletRequest request) {
     String jwt = jwtUtils.getJwtFromHeader(request);
     logger.debug("AuthTokenFilter.java: {}", jwt);
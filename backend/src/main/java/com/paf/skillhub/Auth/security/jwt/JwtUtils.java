@@ -1,8 +1,10 @@
 package com.paf.skillhub.Auth.security.jwt;
 
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -12,7 +14,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
 
 @Component
@@ -20,12 +21,26 @@ public class JwtUtils {
 
   private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+  public static final String ROLES_CLAIM = "roles";
+  public static final String USER_ID_CLAIM = "uid";
+  public static final String TOKEN_VERSION_CLAIM = "ver";
+
   @Value("${spring.app.jwtSecret}")
   private String jwtSecret;
 
   @Value("${spring.app.jwtExpirationMs}")
   private int jwtExpirationMs;
 
+  // Both are immutable and thread-safe, so they are built once instead of on every request
+  private SecretKey key;
+  private JwtParser jwtParser;
+
+  @PostConstruct
+  public void init() {
+    key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    jwtParser = Jwts.parser().verifyWith(key).build();
+  }
+
   public String getJwtFromHeader(HttpServletRequest request) {
 
     String bearerToken = request.getHeader("Authorization");
@@ -45,37 +60,40 @@ public class JwtUtils {
         .map(authority -> authority.getAuthority())
         .collect(Collectors.joining(","));
 
-    return Jwts.builder()
+    JwtBuilder builder = Jwts.builder()
         .subject(username)
-        .claim("roles", roles)
+        .claim(ROLES_CLAIM, roles);
+
+    // Lets AuthTokenFilter authenticate the token without loading the user
+    if (userDetails instanceof UserDetailsImpl details && details.getId() != null) {
+      builder.claim(USER_ID_CLAIM, details.getId())
+          .claim(TOKEN_VERSION_CLAIM, details.getTokenVersion());
+    }
+
+    return builder
         .issuedAt(new Date())
         .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-        .signWith(key())
+        .signWith(key)
         .compact();
 
   }
 
   public String getUserNameFromJwtToken(String token)
   {
-    return Jwts.parser()
-        .verifyWith((SecretKey) key())
-        .build().parseSignedClaims(token)
-        .getPayload().getSubject();
+    return jwtParser.parseSignedClaims(token).getPayload().getSubject();
   }
 
-  private Key key()
+  public boolean validateJwtToken(String authToken)
   {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    return parseJwtToken(authToken) != null;
   }
 
-  public boolean validateJwtToken(String authToken)
+  // Verifies the token once and returns its claims, or null if it is invalid or expired
+  public Claims parseJwtToken(String authToken)
   {
     try
     {
-      System.out.println("Validate");
-      Jwts.parser().verifyWith((SecretKey) key())
-          .build().parseSignedClaims(authToken);
-      return true;
+      return jwtParser.parseSignedClaims(authToken).getPayload();
     } catch (MalformedJwtException e)
     {
       logger.error("Invalid JWT token: {}", e.getMessage());
@@ -89,7 +107,6 @@ public class JwtUtils {
     {
       logger.error("JWT claims string is empty: {}", e.getMessage());
     }
-    return false;
+    return null;
   }
 }
-
@@ -0,0 +1,86 @@
+package com.paf.skillhub.Auth.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// Principals of bearer tokens that already passed signature verification, keyed by the
+// SHA-256 of the token so raw tokens are never kept in memory. Each entry expires with its
+// token, and repeat requests with the same token skip the HMAC check and claim parsing.
+@Component
+public class VerifiedTokenCache {
+
+  @Value("${cache.verified-token.max-size:50000}")
+  private long maxSize;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private Cache<String, VerifiedToken> cache;
+
+  public record VerifiedToken(UserDetails principal, Long userId, int tokenVersion,
+                              long expiresAtMillis) {
+  }
+
+  @PostConstruct
+  public void init() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new Expiry<String, VerifiedToken>() {
+          @Override
+          public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+              long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedToken");
+  }
+
+  public VerifiedToken get(String jwt) {
+    return cache.getIfPresent(digest(jwt));
+  }
+
+  public void put(String jwt, VerifiedToken token) {
+    cache.put(digest(jwt), token);
+  }
+
+  // Drops every cached token of the user, e.g. after the account was locked or disabled
+  public void invalidateUser(Long userId) {
+    cache.asMap().values().removeIf(token -> token.userId().equals(userId));
+  }
+
+  private String digest(String jwt) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(jwt.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
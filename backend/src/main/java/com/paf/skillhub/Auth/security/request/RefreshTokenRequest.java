@@ -0,0 +1,12 @@
+package com.paf.skillhub.Auth.security.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class RefreshTokenRequest {
+
+  private String refreshToken;
+
+}
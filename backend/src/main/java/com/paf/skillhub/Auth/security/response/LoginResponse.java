@@ -10,6 +10,7 @@ import java.util.List;
 public class LoginResponse {
 
   private String jwtToken;
+  private String refreshToken;
   private String username;
   private List<String> roles;
 
@@ -19,4 +20,10 @@ public class LoginResponse {
     this.jwtToken = jwtToken;
   }
 
+  public LoginResponse(String username, List<String> roles, String jwtToken,
+      String refreshToken) {
+    this(username, roles, jwtToken);
+    this.refreshToken = refreshToken;
+  }
+
 }
@@ -0,0 +1,130 @@
+package com.paf.skillhub.Auth.security.services;
+
+import com.paf.skillhub.Auth.models.RefreshToken;
+import com.paf.skillhub.Auth.models.RevokeReason;
+import com.paf.skillhub.Auth.repositories.RefreshTokenRepository;
+import com.paf.skillhub.User.models.User;
+import com.paf.skillhub.User.repositories.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Long-lived opaque refresh tokens, exchanged for a new access JWT and a new refresh token on
+// every use. Only a hash of each token is stored.
+@Service
+public class RefreshTokenService {
+
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  @Autowired
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Value("${spring.app.jwtRefreshExpirationMs:1209600000}")
+  private long refreshExpirationMs;
+
+  public record Rotation(User user, String refreshToken) {
+  }
+
+  // Returns the token for the client; it can't be recovered from the database afterwards
+  @Transactional
+  public String issue(Long userId) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    secureRandom.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    Instant now = Instant.now();
+    User user = userRepository.getReferenceById(userId);
+    refreshTokenRepository.save(
+        new RefreshToken(hash(token), user, now.plusMillis(refreshExpirationMs), now));
+    return token;
+  }
+
+  // Retires the presented token and issues its replacement. Empty if the token is unknown,
+  // expired, already used, or its user may no longer sign in.
+  @Transactional
+  public Optional<Rotation> rotate(String token) {
+    Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(token));
+    if (found.isEmpty()) {
+      return Optional.empty();
+    }
+
+    RefreshToken refreshToken = found.get();
+    User user = refreshToken.getUser();
+    Instant now = Instant.now();
+    if (refreshToken.getRevokedAt() != null) {
+      // A rotated token coming back means it was copied, so end every session of the user.
+      // Logged-out and revoked tokens are just rejected.
+      if (refreshToken.getRevokeReason() == RevokeReason.ROTATED) {
+        logger.warn("Rotated refresh token reused for user {}, revoking all", user.getUserId());
+        refreshTokenRepository.revokeAllForUser(user.getUserId(), now, RevokeReason.REVOKED);
+      }
+      return Optional.empty();
+    }
+    if (refreshToken.getExpiryDate().isBefore(now) || !user.isEnabled()
+        || !user.isAccountNonLocked()) {
+      return Optional.empty();
+    }
+
+    // Loses against a concurrent rotation of the same token
+    if (refreshTokenRepository.markRevoked(refreshToken.getId(), now, RevokeReason.ROTATED) == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new Rotation(user, issue(user.getUserId())));
+  }
+
+  // Logout
+  @Transactional
+  public void revoke(String token) {
+    refreshTokenRepository.findByTokenHash(hash(token))
+        .ifPresent(refreshToken -> refreshTokenRepository.markRevoked(refreshToken.getId(),
+            Instant.now(), RevokeReason.LOGGED_OUT));
+  }
+
+  @Transactional
+  public void revokeAll(Long userId) {
+    refreshTokenRepository.revokeAllForUser(userId, Instant.now(), RevokeReason.REVOKED);
+  }
+
+  // Used before deleting the user, since the rows reference it
+  @Transactional
+  public void deleteAll(Long userId) {
+    refreshTokenRepository.deleteByUserId(userId);
+  }
+
+  @Scheduled(fixedDelayString = "${spring.app.refreshTokenCleanupMs:3600000}")
+  @Transactional
+  public void deleteExpired() {
+    int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+    if (deleted > 0) {
+      logger.info("Deleted {} expired refresh tokens", deleted);
+    }
+  }
+
+  private String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
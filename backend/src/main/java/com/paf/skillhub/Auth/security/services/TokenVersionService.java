@@ -0,0 +1,64 @@
+package com.paf.skillhub.Auth.security.services;
+
+import com.paf.skillhub.Auth.security.jwt.VerifiedTokenCache;
+import com.paf.skillhub.User.repositories.UserRepository;
+import com.paf.skillhub.utils.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Revocation check for stateless JWTs. Each token carries the user's token version at issue
+// time; it stays valid only while that version is still the current one.
+@Service
+public class TokenVersionService {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private RefreshTokenService refreshTokenService;
+
+  // Served from the token version cache, so only the first request of a user within the cache
+  // TTL reaches the database. Deleted users have no version and fail the check.
+  public boolean isCurrent(Long userId, int version) {
+    Integer current = cache().get(userId,
+        () -> userRepository.findTokenVersion(userId).orElse(null));
+    return current != null && current == version;
+  }
+
+  // Invalidates every access and refresh token issued to the user so far
+  public void revoke(Long userId) {
+    transactionTemplate.executeWithoutResult(tx -> userRepository.incrementTokenVersion(userId));
+    cache().evict(userId);
+    verifiedTokenCache.invalidateUser(userId);
+    refreshTokenService.revokeAll(userId);
+
+    // Evict again once the surrounding transaction commits, in case a request cached the old
+    // version while it was still running
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cache().evict(userId);
+        }
+      });
+    }
+  }
+
+  private Cache cache() {
+    return cacheManager.getCache(CacheConfig.TOKEN_VERSION_CACHE);
+  }
+}
@@ -32,6 +32,9 @@ public class UserDetailsImpl implements UserDetails {
 
   private boolean is2faEnabled;
 
+  // Token version of the user when this principal was loaded, embedded in issued JWTs
+  private int tokenVersion;
+
   private Collection<? extends GrantedAuthority> authorities;
 
   public UserDetailsImpl(Long id, String username, String email, String password,
@@ -47,7 +50,7 @@ public class UserDetailsImpl implements UserDetails {
 public static UserDetailsImpl build(User user) {
   GrantedAuthority authority = new SimpleGrantedAuthority(user.getRole().getRoleName().name());
 
-    return new UserDetailsImpl(
+    UserDetailsImpl userDetails = new UserDetailsImpl(
         user.getUserId(),
         user.getUserName(),
         user.getEmail(),
@@ -55,6 +58,8 @@ public static UserDetailsImpl build(User user) {
         user.isTwoFactorEnabled(),
         List.of(authority) // Wrapping the single authority in a list
     );
+    userDetails.setTokenVersion(user.getTokenVersion());
+    return userDetails;
   }
 
 
@@ -4,6 +4,7 @@ import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.User.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
   @Autowired
   UserRepository userRepository;
@@ -26,5 +27,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     return UserDetailsImpl.build(user);
   }
 
-
-}
\ No newline at end of file
+  // Called by the authentication provider after a successful login whose stored hash was made
+  // with another encoder or cost than the current one. The password itself is unchanged, so
+  // issued tokens stay valid.
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePassword(user.getUsername(), newPassword);
+    if (user instanceof UserDetailsImpl userDetails) {
+      userDetails.setPassword(newPassword);
+    }
+    return user;
+  }
+}
@@ -6,8 +6,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +19,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+    // Follow checks and the follower count of a user
+    @Index(name = "idx_follower_user_follower", columnList = "user_id, follower_user_id"),
+    // Who a user follows, used by the feed and timeline subqueries
+    @Index(name = "idx_follower_follower_user", columnList = "follower_user_id, user_id")
+})
 public class Follower {
 
   @Id
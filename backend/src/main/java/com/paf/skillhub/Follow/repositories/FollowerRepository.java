@@ -5,8 +5,10 @@ import com.paf.skillhub.Follow.models.Follower;
 import com.paf.skillhub.User.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,19 @@ public interface FollowerRepository extends JpaRepository<Follower, Long> {
 
   long countByFollowerUser(User followerUser);
 
+  long countByUser_UserId(Long userId);
+
+  // Followers of any of the given users, for the timeline trim job
+  @Query("SELECT DISTINCT f.followerUser.userId FROM Follower f WHERE f.user.userId IN :userIds")
+  List<Long> findFollowerUserIdsOf(@Param("userIds") Collection<Long> userIds);
+
+  // Followed users whose follower count is above the timeline fan-out limit. Reads the stored
+  // User.followerCount, so it costs one index range scan plus a primary key lookup per followee.
+  @Query("SELECT f.user.userId FROM Follower f WHERE f.followerUser.userId = :followerUserId " +
+      "AND f.user.followerCount > :maxFollowers")
+  List<Long> findFollowedUserIdsWithFollowersAbove(@Param("followerUserId") Long followerUserId,
+      @Param("maxFollowers") long maxFollowers);
+
   // Delete all followers where the follower_user_id matches the given user ID
   void deleteByFollowerUser_UserId(Long followerUserId);
 
@@ -5,6 +5,7 @@ import com.paf.skillhub.Follow.models.Follower;
 import com.paf.skillhub.Follow.repositories.FollowerRepository;
 import com.paf.skillhub.Notification.Enums.NotificationType;
 import com.paf.skillhub.Notification.services.NotificationService;
+import com.paf.skillhub.Post.services.TimelineService;
 import com.paf.skillhub.User.dtos.UserDTO;
 import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.User.repositories.UserRepository;
@@ -28,6 +29,9 @@ public class FollowerService {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private TimelineService timelineService;
+
   @Transactional
   public void followUser(Long userId, Long followerUserId) {
     // Check if users exist
@@ -50,6 +54,7 @@ public class FollowerService {
     follower.setCreatedAt(LocalDateTime.now());
 
     followerRepository.save(follower);
+    userRepository.adjustFollowerCount(userId, 1);
 
     String message = followerUser.getUserName() + " started following you.";
     notificationService.createNotification(userId,followerUserId, NotificationType.FOLLOW,message);
@@ -65,7 +70,12 @@ public class FollowerService {
             () -> new RuntimeException("Follower user not found with id: " + followerUserId));
 
     followerRepository.findByUserAndFollowerUser(user, followerUser)
-        .ifPresent(followerRepository::delete);
+        .ifPresent(follower -> {
+          followerRepository.delete(follower);
+          userRepository.adjustFollowerCount(userId, -1);
+          // The unfollowed user's posts leave the follower's timeline
+          timelineService.removeAuthorFromTimeline(followerUserId, userId);
+        });
   }
 
   public long getFollowerCount(Long userId) {
@@ -13,6 +13,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_notification_user_read_created", columnList = "user_id, is_read, created_at"),
+    @Index(name = "idx_notification_user_type_created",
+        columnList = "user_id, notification_type, created_at"),
+    @Index(name = "idx_notification_sender", columnList = "sender_user_id")
+})
 public class Notification {
 
     @Id
@@ -1,6 +1,8 @@
 package com.paf.skillhub.Post.controllers;
 
+import com.paf.skillhub.Post.dto.LikeBatchDTO;
 import com.paf.skillhub.Post.services.LikeService;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,6 +34,17 @@ public class LikeController {
     return ResponseEntity.ok(likeService.getLikesCount(postId));
   }
 
+  // Like state of several posts at once, e.g. a feed page
+  @GetMapping("/batch")
+  public ResponseEntity<LikeBatchDTO> getLikeStates(@RequestParam Long userId,
+      @RequestParam List<Long> postIds) {
+    try {
+      return ResponseEntity.ok(likeService.getLikeStates(userId, postIds));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   // Check if user liked a post
   @GetMapping("/check")
   public ResponseEntity<Boolean> checkUserLike(@RequestParam Long postId, @RequestParam Long userId) {
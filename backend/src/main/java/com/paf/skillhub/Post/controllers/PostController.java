@@ -2,18 +2,27 @@ package com.paf.skillhub.Post.controllers;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
+import com.paf.skillhub.Post.dto.FeedPageDTO;
+import com.paf.skillhub.Post.dto.LikeStateDTO;
 import com.paf.skillhub.Post.dto.PostDTO;
 import com.paf.skillhub.Post.dto.PostResponseDTO;
 import com.paf.skillhub.Post.models.Post;
 import com.paf.skillhub.Post.models.PostLike;
 import com.paf.skillhub.Post.models.PostMedia;
+import com.paf.skillhub.Post.services.FeedService;
+import com.paf.skillhub.Post.services.LikeService;
 import com.paf.skillhub.Post.services.PostService;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,6 +35,12 @@ public class PostController {
   @Autowired
   private PostService postService;
 
+  @Autowired
+  private FeedService feedService;
+
+  @Autowired
+  private LikeService likeService;
+
   @PostMapping("/addPost")
   public ResponseEntity<Post> addPost(
       @RequestParam("postData") String postDataString,
@@ -48,7 +63,13 @@ public class PostController {
       return ResponseEntity.badRequest().body(null);
     }
 
-    return ResponseEntity.ok(postService.addPost(postDTO, files));
+    try {
+      return ResponseEntity.ok(postService.addPost(postDTO, files));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
   }
 
   // Get posts by user
@@ -57,6 +78,41 @@ public class PostController {
     return ResponseEntity.ok(postService.getPostsByUser(userId));
   }
 
+  // Home feed of the signed-in user, paged with an opaque cursor returned by the previous page
+  @GetMapping("/feed")
+  public ResponseEntity<FeedPageDTO> getFeed(
+      @AuthenticationPrincipal UserDetailsImpl userDetails,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    try {
+      return ResponseEntity.ok(feedService.getFeed(userDetails.getId(), cursor, size));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // Timeline of followed users, paged the same way as the home feed
+  @GetMapping("/timeline")
+  public ResponseEntity<FeedPageDTO> getTimeline(
+      @AuthenticationPrincipal UserDetailsImpl userDetails,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    try {
+      return ResponseEntity.ok(feedService.getTimeline(userDetails.getId(), cursor, size));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // Export all posts of a user as newline-delimited JSON
+  @GetMapping("/user/{userId}/export")
+  public void exportPostsByUser(@PathVariable Long userId, HttpServletResponse response)
+      throws IOException {
+    response.setContentType("application/x-ndjson");
+    response.setCharacterEncoding("UTF-8");
+    postService.exportPostsByUser(userId, response.getOutputStream());
+  }
+
   // Get posts by skill
   @GetMapping("/skill/{skillId}")
   public ResponseEntity<List<Post>> getPostsBySkill(@PathVariable Long skillId) {
@@ -80,7 +136,19 @@ public class PostController {
   @PostMapping("/{postId}/like")
   public ResponseEntity<PostLike> addLikeToPost(@PathVariable Long postId,
       @RequestParam Long userId) {
-    return ResponseEntity.ok(postService.addLikeToPost(postId, userId));
+    try {
+      return ResponseEntity.ok(likeService.likePost(postId, userId));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // Idempotently set whether the user likes the post
+  @PutMapping("/{postId}/like")
+  public ResponseEntity<LikeStateDTO> setLike(@PathVariable Long postId,
+      @RequestParam Long userId,
+      @RequestParam(defaultValue = "true") boolean liked) {
+    return ResponseEntity.ok(likeService.setLike(postId, userId, liked));
   }
 
   @GetMapping("/{postId}")
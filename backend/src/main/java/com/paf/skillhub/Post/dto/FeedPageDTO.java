@@ -0,0 +1,17 @@
+package com.paf.skillhub.Post.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedPageDTO {
+  private List<PostResponseDTO> posts;
+  private String nextCursor; // Opaque (createdAt, postId) keyset, null on the last page
+  private boolean hasMore;
+}
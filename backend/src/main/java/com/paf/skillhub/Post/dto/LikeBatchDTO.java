@@ -0,0 +1,17 @@
+package com.paf.skillhub.Post.dto;
+
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LikeBatchDTO {
+  private Set<Long> likedPostIds;
+  private Map<Long, Long> likeCounts;
+}
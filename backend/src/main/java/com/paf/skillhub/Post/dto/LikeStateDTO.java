@@ -0,0 +1,16 @@
+package com.paf.skillhub.Post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LikeStateDTO {
+  private Long postId;
+  private boolean liked;
+  private long likeCount;
+}
@@ -17,4 +17,7 @@ import lombok.Setter;
 public class PostMediaDTO {
   private String mediaType;
   private String mediaUrl;
+  private String thumbnailUrl;
+  private String mediumUrl;
+  private String largeUrl;
 }
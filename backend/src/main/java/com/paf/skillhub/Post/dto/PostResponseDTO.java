@@ -18,6 +18,9 @@ public class PostResponseDTO {
   private String skillName;
   private Boolean isPublic;
   private List<PostMediaDTO> media; // Changed to a list
+  private String mediaStatus;
+  private Long likeCount;
+  private Long commentCount;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 }
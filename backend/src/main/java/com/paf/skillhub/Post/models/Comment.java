@@ -1,14 +1,18 @@
 package com.paf.skillhub.Post.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.paf.skillhub.Search.services.SearchIndexListener;
 import com.paf.skillhub.User.models.User;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +22,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = @Index(name = "idx_comment_post_created", columnList = "post_id, created_at"))
 public class Comment {
 
   @Id
@@ -0,0 +1,40 @@
+package com.paf.skillhub.Post.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Content-addressed index of stored media: the SHA-256 of an upload maps to the blob already
+// holding those bytes, so identical files are stored once
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "media_hash")
+public class MediaHash {
+
+  // Lowercase hex SHA-256 of the file content
+  @Id
+  @Column(name = "sha256", length = 64)
+  private String sha256;
+
+  @Column(nullable = false)
+  private String mediaUrl;
+
+  private String contentType;
+
+  // Variant URLs of a photo, copied to every PostMedia that reuses it
+  private String thumbnailUrl;
+
+  private String mediumUrl;
+
+  private String largeUrl;
+
+  @Column(updatable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,5 @@
+package com.paf.skillhub.Post.models;
+
+public enum MediaStatus {
+  PENDING, READY, FAILED;
+}
@@ -1,27 +1,41 @@
 package com.paf.skillhub.Post.models;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.paf.skillhub.Search.services.SearchIndexListener;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.User.models.User;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = {
+    @Index(name = "idx_post_user_created", columnList = "user_id, created_at, post_id"),
+    @Index(name = "idx_post_skill_created", columnList = "skill_id, created_at, post_id"),
+    @Index(name = "idx_post_created", columnList = "created_at, post_id")
+})
 public class Post {
 
   @Id
@@ -40,12 +54,26 @@ public class Post {
 
   private Boolean isPublic;
 
+  // State of the background media upload; null for posts created before uploads were async
+  @Enumerated(EnumType.STRING)
+  private MediaStatus mediaStatus;
+
+  // Denormalized counters, maintained by PostCounterService
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  private Long likeCount = 0L;
+
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  private Long commentCount = 0L;
+
   @Column(updatable = false)
   private LocalDateTime createdAt;
 
   private LocalDateTime updatedAt;
 
   @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
+  @BatchSize(size = 100) // Media of a whole page of posts is loaded with one IN query
   private List<PostMedia> postMedia;
 
   @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
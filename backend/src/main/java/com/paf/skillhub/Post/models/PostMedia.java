@@ -32,6 +32,18 @@ public class PostMedia {
 
   private String mediaUrl;
 
+  // SHA-256 of the content, see MediaHash
+  @Column(length = 64)
+  private String contentHash;
+
+  // Resized copies of a photo, filled in by ImageVariantService; null until generated and for
+  // videos, in which case clients fall back to mediaUrl
+  private String thumbnailUrl;
+
+  private String mediumUrl;
+
+  private String largeUrl;
+
   @Column(updatable = false)
   private LocalDateTime createdAt;
 
@@ -0,0 +1,43 @@
+package com.paf.skillhub.Post.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per (timeline owner, post). Rows are written by TimelineService when a post is
+// created, so reading a timeline is a range scan on (user_id, created_at, post_id).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "timeline_entry",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "post_id"}),
+    indexes = {
+        @Index(name = "idx_timeline_user_created", columnList = "user_id, created_at, post_id"),
+        @Index(name = "idx_timeline_post", columnList = "post_id")
+    })
+public class TimelineEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long timelineEntryId;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "post_id", nullable = false)
+  private Long postId;
+
+  // Copy of Post.createdAt so the timeline can be paged without joining post
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
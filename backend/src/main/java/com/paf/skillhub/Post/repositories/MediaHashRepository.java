@@ -0,0 +1,26 @@
+package com.paf.skillhub.Post.repositories;
+
+import com.paf.skillhub.Post.models.MediaHash;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MediaHashRepository extends JpaRepository<MediaHash, String> {
+
+  // When two identical files are uploaded at the same time the first row wins
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO media_hash (sha256, media_url, content_type, created_at) " +
+      "VALUES (:sha256, :mediaUrl, :contentType, :createdAt)", nativeQuery = true)
+  int insertIgnore(@Param("sha256") String sha256,
+      @Param("mediaUrl") String mediaUrl,
+      @Param("contentType") String contentType,
+      @Param("createdAt") LocalDateTime createdAt);
+
+  @Modifying
+  @Query("UPDATE MediaHash h SET h.thumbnailUrl = :thumbnailUrl, h.mediumUrl = :mediumUrl, " +
+      "h.largeUrl = :largeUrl WHERE h.sha256 = :sha256")
+  int updateVariants(@Param("sha256") String sha256, @Param("thumbnailUrl") String thumbnailUrl,
+      @Param("mediumUrl") String mediumUrl, @Param("largeUrl") String largeUrl);
+}
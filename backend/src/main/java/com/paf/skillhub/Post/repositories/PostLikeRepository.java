@@ -4,8 +4,14 @@ package com.paf.skillhub.Post.repositories;
 import com.paf.skillhub.Post.models.Post;
 import com.paf.skillhub.Post.models.PostLike;
 import com.paf.skillhub.User.models.User;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
 
@@ -13,4 +19,31 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
   void deleteByPostAndUser(Post post, User user);
   Optional<PostLike> findByPostAndUser(Post post, User user);
   void deleteByPostPostId(Long postId);
-}
\ No newline at end of file
+
+  boolean existsByPostPostIdAndUserUserId(Long postId, Long userId);
+  Optional<PostLike> findByPostPostIdAndUserUserId(Long postId, Long userId);
+
+  // Returns 0 when the like already exists (the no-op update counts as 0 affected rows with
+  // useAffectedRows, see application.yml). Not INSERT IGNORE, which would also swallow
+  // foreign key errors for a missing post or user.
+  @Modifying
+  @Query(value = "INSERT INTO post_like (post_id, user_id, created_at) " +
+      "VALUES (:postId, :userId, :createdAt) " +
+      "ON DUPLICATE KEY UPDATE post_id = post_id",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("postId") Long postId,
+      @Param("userId") Long userId,
+      @Param("createdAt") LocalDateTime createdAt);
+
+  @Modifying
+  @Query("DELETE FROM PostLike l WHERE l.post.postId = :postId AND l.user.userId = :userId")
+  int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+  @Query("SELECT l.post.postId FROM PostLike l WHERE l.user.userId = :userId")
+  List<Long> findPostIdsLikedByUser(@Param("userId") Long userId);
+
+  @Query("SELECT l.post.postId FROM PostLike l " +
+      "WHERE l.user.userId = :userId AND l.post.postId IN :postIds")
+  List<Long> findLikedPostIds(@Param("userId") Long userId,
+      @Param("postIds") Collection<Long> postIds);
+}
@@ -4,9 +4,19 @@ package com.paf.skillhub.Post.repositories;
 import com.paf.skillhub.Post.models.Post;
 import com.paf.skillhub.Post.models.PostMedia;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface PostMediaRepository extends JpaRepository<PostMedia, Long> {
 
   List<PostMedia> findByPost(Post post);
+
+  // Sets the variants of every post that uses the same content
+  @Modifying
+  @Query("UPDATE PostMedia m SET m.thumbnailUrl = :thumbnailUrl, m.mediumUrl = :mediumUrl, " +
+      "m.largeUrl = :largeUrl WHERE m.contentHash = :contentHash")
+  int updateVariants(@Param("contentHash") String contentHash, @Param("thumbnailUrl") String thumbnailUrl,
+      @Param("mediumUrl") String mediumUrl, @Param("largeUrl") String largeUrl);
 }
@@ -1,12 +1,24 @@
 package com.paf.skillhub.Post.repositories;
 
 
+import com.paf.skillhub.Post.models.MediaStatus;
 import com.paf.skillhub.Post.models.Post;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.User.models.User;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
@@ -18,5 +30,92 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
   Post getPostByPostId(Long postId);
 
+  @Query("SELECT p.likeCount FROM Post p WHERE p.postId = :postId")
+  Optional<Long> findLikeCountByPostId(@Param("postId") Long postId);
+
+  // Targeted update so a background upload never overwrites concurrent edits of the post
+  @Modifying
+  @Query("UPDATE Post p SET p.mediaStatus = :status WHERE p.postId = :postId")
+  int updateMediaStatus(@Param("postId") Long postId, @Param("status") MediaStatus status);
+
+  // Rows of (postId, likeCount)
+  @Query("SELECT p.postId, p.likeCount FROM Post p WHERE p.postId IN :postIds")
+  List<Object[]> findLikeCountsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+  // Rebuilds the denormalized counters from post_like and comment
+  @Modifying
+  @Query(value = "UPDATE post p SET " +
+      "p.like_count = (SELECT COUNT(*) FROM post_like l WHERE l.post_id = p.post_id), " +
+      "p.comment_count = (SELECT COUNT(*) FROM comment c WHERE c.post_id = p.post_id)",
+      nativeQuery = true)
+  int recountCounters();
+
+  // Loads posts with author, skill and media in one query for mapToPostResponseDTO
+  @EntityGraph(attributePaths = {"user", "user.role", "skill", "postMedia"})
   List<Post> findByUserUserId(Long userId);
-}
\ No newline at end of file
+
+  // Timeline posts the viewer may still see: public ones, or their own. Entries of a post made
+  // private are removed, but one could be read before that happens.
+  @EntityGraph(attributePaths = {"user", "user.role", "skill"}) // Media is batch fetched
+  @Query("SELECT p FROM Post p WHERE p.postId IN :postIds " +
+      "AND (p.isPublic = true OR p.user.userId = :viewerId)")
+  List<Post> findVisibleByPostIdIn(@Param("postIds") Collection<Long> postIds,
+      @Param("viewerId") Long viewerId);
+
+  // Home feed: own posts, posts of followed users and posts tagged with the viewer's skills.
+  // Ordered by the (createdAt, postId) keyset so every page is a bounded index range read.
+  @EntityGraph(attributePaths = {"user", "user.role", "skill"}) // Media is batch fetched
+  @Query("SELECT p FROM Post p " +
+      "WHERE (p.user.userId = :viewerId " +
+      "OR p.user.userId IN (SELECT f.user.userId FROM Follower f WHERE f.followerUser.userId = :viewerId) " +
+      "OR p.skill.skillId IN (SELECT s.skillId FROM User u JOIN u.skills s WHERE u.userId = :viewerId)) " +
+      "AND (p.isPublic = true OR p.user.userId = :viewerId) " +
+      "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<Post> findFeedFirstPage(@Param("viewerId") Long viewerId, Pageable pageable);
+
+  @EntityGraph(attributePaths = {"user", "user.role", "skill"}) // Media is batch fetched
+  @Query("SELECT p FROM Post p " +
+      "WHERE (p.user.userId = :viewerId " +
+      "OR p.user.userId IN (SELECT f.user.userId FROM Follower f WHERE f.followerUser.userId = :viewerId) " +
+      "OR p.skill.skillId IN (SELECT s.skillId FROM User u JOIN u.skills s WHERE u.userId = :viewerId)) " +
+      "AND (p.isPublic = true OR p.user.userId = :viewerId) " +
+      "AND (p.createdAt < :cursorCreatedAt " +
+      "OR (p.createdAt = :cursorCreatedAt AND p.postId < :cursorPostId)) " +
+      "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<Post> findFeedPageAfter(@Param("viewerId") Long viewerId,
+      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+      @Param("cursorPostId") Long cursorPostId,
+      Pageable pageable);
+
+  // Pull path of the timeline for authors that are too widely followed to fan out on write
+  @EntityGraph(attributePaths = {"user", "user.role", "skill"}) // Media is batch fetched
+  @Query("SELECT p FROM Post p WHERE p.user.userId IN :authorIds AND p.isPublic = true " +
+      "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<Post> findPublicByAuthorsFirstPage(@Param("authorIds") List<Long> authorIds,
+      Pageable pageable);
+
+  @EntityGraph(attributePaths = {"user", "user.role", "skill"}) // Media is batch fetched
+  @Query("SELECT p FROM Post p WHERE p.user.userId IN :authorIds AND p.isPublic = true " +
+      "AND (p.createdAt < :cursorCreatedAt " +
+      "OR (p.createdAt = :cursorCreatedAt AND p.postId < :cursorPostId)) " +
+      "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<Post> findPublicByAuthorsPageAfter(@Param("authorIds") List<Long> authorIds,
+      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+      @Param("cursorPostId") Long cursorPostId,
+      Pageable pageable);
+
+  // Export stream: rows are read from the driver as they are consumed. Integer.MIN_VALUE makes
+  // MySQL Connector/J stream row by row, so every association the mapper touches is join
+  // fetched (no secondary selects can run on the connection while the stream is open).
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT p FROM Post p " +
+      "JOIN FETCH p.user u LEFT JOIN FETCH u.role " +
+      "LEFT JOIN FETCH p.skill " +
+      "LEFT JOIN FETCH p.postMedia " +
+      "WHERE u.userId = :userId " +
+      "ORDER BY p.createdAt DESC, p.postId DESC")
+  Stream<Post> streamByUserUserId(@Param("userId") Long userId);
+}
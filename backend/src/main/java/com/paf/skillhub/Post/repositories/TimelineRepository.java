@@ -0,0 +1,67 @@
+package com.paf.skillhub.Post.repositories;
+
+import com.paf.skillhub.Post.models.TimelineEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TimelineRepository extends JpaRepository<TimelineEntry, Long> {
+
+  @Query("SELECT t FROM TimelineEntry t WHERE t.userId = :userId " +
+      "ORDER BY t.createdAt DESC, t.postId DESC")
+  List<TimelineEntry> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+  @Query("SELECT t FROM TimelineEntry t WHERE t.userId = :userId " +
+      "AND (t.createdAt < :cursorCreatedAt " +
+      "OR (t.createdAt = :cursorCreatedAt AND t.postId < :cursorPostId)) " +
+      "ORDER BY t.createdAt DESC, t.postId DESC")
+  List<TimelineEntry> findPageAfter(@Param("userId") Long userId,
+      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+      @Param("cursorPostId") Long cursorPostId,
+      Pageable pageable);
+
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO timeline_entry (user_id, post_id, created_at) " +
+      "VALUES (:userId, :postId, :createdAt)", nativeQuery = true)
+  void insertEntry(@Param("userId") Long userId,
+      @Param("postId") Long postId,
+      @Param("createdAt") LocalDateTime createdAt);
+
+  // Writes the post into every follower's timeline with a single INSERT ... SELECT
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO timeline_entry (user_id, post_id, created_at) " +
+      "SELECT f.follower_user_id, :postId, :createdAt FROM follower f WHERE f.user_id = :authorId",
+      nativeQuery = true)
+  int fanOutToFollowers(@Param("authorId") Long authorId,
+      @Param("postId") Long postId,
+      @Param("createdAt") LocalDateTime createdAt);
+
+  // Deletes everything older than the user's newest :maxSize entries. The cutoff row is found
+  // with an index range read and the delete is a range on idx_timeline_user_created.
+  @Modifying
+  @Query(value = "DELETE t FROM timeline_entry t JOIN (" +
+      "SELECT te.created_at, te.post_id FROM timeline_entry te WHERE te.user_id = :userId " +
+      "ORDER BY te.created_at DESC, te.post_id DESC LIMIT 1 OFFSET :maxSize" +
+      ") cutoff ON t.user_id = :userId AND (t.created_at < cutoff.created_at " +
+      "OR (t.created_at = cutoff.created_at AND t.post_id <= cutoff.post_id))",
+      nativeQuery = true)
+  int trimTimeline(@Param("userId") Long userId, @Param("maxSize") int maxSize);
+
+  // Removes a post from every timeline except its author's
+  @Modifying
+  @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId AND t.userId <> :authorId")
+  int deleteFollowerEntries(@Param("postId") Long postId, @Param("authorId") Long authorId);
+
+  @Modifying
+  @Query(value = "DELETE t FROM timeline_entry t JOIN post p ON p.post_id = t.post_id " +
+      "WHERE t.user_id = :userId AND p.user_id = :authorId", nativeQuery = true)
+  int deleteAuthorEntries(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+  @Modifying
+  @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+  void deleteByPostId(@Param("postId") Long postId);
+}
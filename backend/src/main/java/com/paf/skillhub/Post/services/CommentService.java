@@ -27,6 +27,9 @@ public class CommentService {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private PostCounterService postCounterService;
+
   public CommentDTO addComment(Long postId, Long userId, String commentText) {
     Post post = postRepository.findById(postId)
         .orElseThrow(() -> new RuntimeException("Post not found"));
@@ -41,6 +44,7 @@ public class CommentService {
     comment.setCreatedAt(LocalDateTime.now());
 
     Comment savedComment = commentRepository.save(comment);
+    postCounterService.incrementComments(postId);
     return convertToDTO(savedComment);
   }
 
@@ -74,6 +78,7 @@ public class CommentService {
     }
 
     commentRepository.delete(comment);
+    postCounterService.decrementComments(comment.getPost().getPostId());
   }
 
   private CommentDTO convertToDTO(Comment comment) {
@@ -0,0 +1,35 @@
+package com.paf.skillhub.Post.services;
+
+import com.paf.skillhub.Post.models.Post;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset cursor: the (createdAt, postId) of the last post on the previous page
+record FeedCursor(LocalDateTime createdAt, Long postId) {
+
+  static FeedCursor after(Post post) {
+    return new FeedCursor(post.getCreatedAt(), post.getPostId());
+  }
+
+  String encode() {
+    // Keep the full timestamp precision so posts created within the same millisecond are not skipped
+    String keyset = createdAt + "|" + postId;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static FeedCursor decode(String cursor) {
+    try {
+      String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = keyset.split("\\|");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid feed cursor");
+      }
+      return new FeedCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid feed cursor");
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.paf.skillhub.Post.services;
+
+import com.paf.skillhub.Follow.repositories.FollowerRepository;
+import com.paf.skillhub.Post.dto.FeedPageDTO;
+import com.paf.skillhub.Post.dto.PostResponseDTO;
+import com.paf.skillhub.Post.models.Post;
+import com.paf.skillhub.Post.models.TimelineEntry;
+import com.paf.skillhub.Post.repositories.PostRepository;
+import com.paf.skillhub.Post.repositories.TimelineRepository;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class FeedService {
+
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private static final Comparator<Post> NEWEST_FIRST = Comparator
+      .comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+      .thenComparing(Post::getPostId, Comparator.reverseOrder());
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private TimelineRepository timelineRepository;
+
+  @Autowired
+  private FollowerRepository followerRepository;
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private TimelineService timelineService;
+
+  // Keyset pagination: the cursor carries the (createdAt, postId) of the last post on the
+  // previous page, so the next page starts right after it instead of skipping an offset.
+  @Transactional(readOnly = true)
+  public FeedPageDTO getFeed(Long viewerId, String cursor, Integer size) {
+    int pageSize = resolvePageSize(size);
+
+    // Fetch one extra row to know whether another page exists
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+    List<Post> posts;
+    if (cursor == null || cursor.isBlank()) {
+      posts = postRepository.findFeedFirstPage(viewerId, limit);
+    } else {
+      FeedCursor after = FeedCursor.decode(cursor);
+      posts = postRepository.findFeedPageAfter(viewerId, after.createdAt(), after.postId(), limit);
+    }
+
+    return toPage(posts, pageSize);
+  }
+
+  // Timeline of followed users: precomputed entries written on post creation, merged with
+  // posts pulled at read time from followed authors that are too widely followed to fan out.
+  @Transactional(readOnly = true)
+  public FeedPageDTO getTimeline(Long viewerId, String cursor, Integer size) {
+    int pageSize = resolvePageSize(size);
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+    List<Long> pulledAuthorIds = followerRepository.findFollowedUserIdsWithFollowersAbove(
+        viewerId, timelineService.getMaxFanOutFollowers());
+
+    List<TimelineEntry> entries;
+    List<Post> pulledPosts = List.of();
+    if (cursor == null || cursor.isBlank()) {
+      entries = timelineRepository.findFirstPage(viewerId, limit);
+      if (!pulledAuthorIds.isEmpty()) {
+        pulledPosts = postRepository.findPublicByAuthorsFirstPage(pulledAuthorIds, limit);
+      }
+    } else {
+      FeedCursor after = FeedCursor.decode(cursor);
+      entries = timelineRepository.findPageAfter(viewerId, after.createdAt(), after.postId(),
+          limit);
+      if (!pulledAuthorIds.isEmpty()) {
+        pulledPosts = postRepository.findPublicByAuthorsPageAfter(pulledAuthorIds,
+            after.createdAt(), after.postId(), limit);
+      }
+    }
+
+    Map<Long, Post> postsById = new HashMap<>();
+    pulledPosts.forEach(post -> postsById.put(post.getPostId(), post));
+
+    List<Long> fanOutPostIds = entries.stream()
+        .map(TimelineEntry::getPostId)
+        .filter(postId -> !postsById.containsKey(postId))
+        .collect(Collectors.toList());
+    postRepository.findVisibleByPostIdIn(fanOutPostIds, viewerId)
+        .forEach(post -> postsById.put(post.getPostId(), post));
+
+    List<Post> merged = postsById.values().stream()
+        .sorted(NEWEST_FIRST)
+        .limit(pageSize + 1)
+        .collect(Collectors.toList());
+
+    return toPage(merged, pageSize);
+  }
+
+  private FeedPageDTO toPage(List<Post> posts, int pageSize) {
+    boolean hasMore = posts.size() > pageSize;
+    if (hasMore) {
+      posts = posts.subList(0, pageSize);
+    }
+
+    List<PostResponseDTO> page = posts.stream()
+        .map(postService::mapToPostResponseDTO)
+        .collect(Collectors.toList());
+
+    String nextCursor = hasMore ? FeedCursor.after(posts.get(posts.size() - 1)).encode() : null;
+    return new FeedPageDTO(page, nextCursor, hasMore);
+  }
+
+  private int resolvePageSize(Integer size) {
+    return size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+  }
+}
@@ -1,21 +1,27 @@
 package com.paf.skillhub.Post.services;
 
 
-import com.paf.skillhub.Post.models.Post;
+import com.paf.skillhub.Post.dto.LikeBatchDTO;
+import com.paf.skillhub.Post.dto.LikeStateDTO;
 import com.paf.skillhub.Post.models.PostLike;
 import com.paf.skillhub.Post.repositories.PostLikeRepository;
 import com.paf.skillhub.Post.repositories.PostRepository;
-import com.paf.skillhub.User.models.User;
-import com.paf.skillhub.User.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LikeService {
 
+  private static final int MAX_BATCH_SIZE = 200;
+
   @Autowired
   private PostLikeRepository likeRepository;
 
@@ -23,41 +29,75 @@ public class LikeService {
   private PostRepository postRepository;
 
   @Autowired
-  private UserRepository userRepository;
-
-  public void likePost(Long postId, Long userId) {
+  private PostCounterService postCounterService;
 
-    Post post = postRepository.getPostByPostId(postId);
-    User user = userRepository.getByUserId(userId);
+  @Autowired
+  private ViewerLikeCache viewerLikeCache;
 
-    Optional<PostLike> existingLike = likeRepository.findByPostAndUser(post, user);
-    if (existingLike.isEmpty()) {
-      PostLike like = new PostLike();
-      like.setPost(post);
-      like.setUser(user);
-      like.setCreatedAt(LocalDateTime.now());
-      likeRepository.save(like);
-    } else {
+  @Transactional
+  public PostLike likePost(Long postId, Long userId) {
+    if (likeRepository.insertIfAbsent(postId, userId, LocalDateTime.now()) == 0) {
       throw new IllegalArgumentException("User has already liked this post.");
     }
+    postCounterService.incrementLikes(postId);
+    viewerLikeCache.recordLike(userId, postId);
+    return likeRepository.findByPostPostIdAndUserUserId(postId, userId).orElseThrow();
   }
 
   @Transactional
   public void unlikePost(Long postId, Long userId) {
-    Post post = postRepository.getPostByPostId(postId);
-    User user = userRepository.getByUserId(userId);
-    Optional<PostLike> existingLike = likeRepository.findByPostAndUser(post, user);
-    existingLike.ifPresent(likeRepository::delete);
+    if (likeRepository.deleteByPostIdAndUserId(postId, userId) > 0) {
+      postCounterService.decrementLikes(postId);
+    }
+  }
+
+  // Idempotent like/unlike: sets the like state and returns it with the current count
+  @Transactional
+  public LikeStateDTO setLike(Long postId, Long userId, boolean liked) {
+    if (liked) {
+      if (likeRepository.insertIfAbsent(postId, userId, LocalDateTime.now()) > 0) {
+        postCounterService.incrementLikes(postId);
+        viewerLikeCache.recordLike(userId, postId);
+      }
+    } else {
+      if (likeRepository.deleteByPostIdAndUserId(postId, userId) > 0) {
+        postCounterService.decrementLikes(postId);
+      }
+    }
+    return new LikeStateDTO(postId, liked, getLikesCount(postId));
   }
 
   public long getLikesCount(Long postId) {
-    Post post = postRepository.getPostByPostId(postId);
-    return likeRepository.countByPost(post);
+    long storedCount = postRepository.findLikeCountByPostId(postId).orElse(0L);
+    return storedCount + postCounterService.pendingLikes(postId);
+  }
+
+  // Like state of a whole feed page: which posts the viewer liked and each post's like count
+  public LikeBatchDTO getLikeStates(Long userId, List<Long> postIds) {
+    if (postIds.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Cannot look up more than " + MAX_BATCH_SIZE + " posts.");
+    }
+
+    Map<Long, Long> likeCounts = new HashMap<>();
+    if (!postIds.isEmpty()) {
+      for (Object[] row : postRepository.findLikeCountsByPostIds(postIds)) {
+        Long postId = (Long) row[0];
+        likeCounts.put(postId, (Long) row[1] + postCounterService.pendingLikes(postId));
+      }
+    }
+
+    // Only posts the viewer's Bloom filter cannot rule out are checked in post_like
+    List<Long> candidates = postIds.stream()
+        .filter(postId -> viewerLikeCache.mightHaveLiked(userId, postId))
+        .collect(Collectors.toList());
+    Set<Long> likedPostIds = candidates.isEmpty()
+        ? new HashSet<>()
+        : new HashSet<>(likeRepository.findLikedPostIds(userId, candidates));
+
+    return new LikeBatchDTO(likedPostIds, likeCounts);
   }
 
   public boolean checkUserLike(Long postId, Long userId) {
-    Post post = postRepository.getPostByPostId(postId);
-    User user = userRepository.getByUserId(userId);
-    return likeRepository.findByPostAndUser(post, user).isPresent();
+    return likeRepository.existsByPostPostIdAndUserUserId(postId, userId);
   }
 }
@@ -0,0 +1,255 @@
+package com.paf.skillhub.Post.services;
+
+import com.paf.skillhub.Post.models.MediaHash;
+import com.paf.skillhub.Post.models.MediaStatus;
+import com.paf.skillhub.Post.models.MediaType;
+import com.paf.skillhub.Post.models.Post;
+import com.paf.skillhub.Post.models.PostMedia;
+import com.paf.skillhub.Post.repositories.MediaHashRepository;
+import com.paf.skillhub.Post.repositories.PostMediaRepository;
+import com.paf.skillhub.Post.repositories.PostRepository;
+import com.paf.skillhub.utils.fileUpload.Res;
+import com.paf.skillhub.utils.storage.BlobStore;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+// Uploads the media of a new post in parallel after the post itself has been saved
+@Service
+public class MediaUploadService {
+
+  private static final Logger logger = LoggerFactory.getLogger(MediaUploadService.class);
+
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  @Autowired
+  private BlobStore blobStore;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private PostMediaRepository postMediaRepository;
+
+  @Autowired
+  private MediaHashRepository mediaHashRepository;
+
+  @Autowired
+  private ImageVariantService imageVariantService;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  @Qualifier("mediaUploadExecutor")
+  private Executor mediaUploadExecutor;
+
+  @Value("${media.upload.max-concurrency:16}")
+  private int maxConcurrency;
+
+  @Value("${media.upload.max-pending:64}")
+  private int maxPending;
+
+  // Files staged but not yet uploaded; staging fails fast once all permits are taken
+  private Semaphore pendingUploads;
+
+  // Uploads running against the storage backend; waiting on it only parks a virtual thread
+  private Semaphore runningUploads;
+
+  // fileName is the name the client sent, used to name the stored blob
+  public record StagedMedia(Path path, String contentType, String fileName) {
+  }
+
+  @PostConstruct
+  public void init() {
+    pendingUploads = new Semaphore(maxPending);
+    runningUploads = new Semaphore(maxConcurrency);
+  }
+
+  // The servlet container deletes multipart files when the request ends, so they are handed
+  // off to temp files first. For parts already spooled to disk transferTo is a move, not a copy.
+  // Throws RejectedExecutionException when too many uploads are already pending, and
+  // IllegalArgumentException when the post alone needs more permits than the pool holds.
+  public List<StagedMedia> stage(List<MultipartFile> files) throws IOException {
+    int count = (int) files.stream().filter(file -> !file.isEmpty()).count();
+    if (count > maxPending) {
+      throw new IllegalArgumentException("A post can carry at most " + maxPending + " media files");
+    }
+    if (count > 0 && !pendingUploads.tryAcquire(count)) {
+      throw new RejectedExecutionException("Too many media uploads in progress");
+    }
+
+    List<StagedMedia> staged = new ArrayList<>();
+    try {
+      for (MultipartFile file : files) {
+        if (!file.isEmpty()) {
+          Path tempFile = Files.createTempFile("temp", null);
+          String fileName = file.getOriginalFilename();
+          if (fileName == null || fileName.isBlank()) {
+            fileName = tempFile.getFileName().toString();
+          }
+          staged.add(new StagedMedia(tempFile, file.getContentType(), fileName));
+          file.transferTo(tempFile);
+        }
+      }
+    } catch (IOException e) {
+      discard(staged.stream().map(StagedMedia::path).toList());
+      pendingUploads.release(count);
+      throw e;
+    }
+    return staged;
+  }
+
+  // For staged media that will never be uploaded, e.g. when saving the post failed
+  public void discardStaged(List<StagedMedia> staged) {
+    discard(staged.stream().map(StagedMedia::path).toList());
+    pendingUploads.release(staged.size());
+  }
+
+  // Uploads every staged file concurrently, then saves the PostMedia rows and moves the post
+  // from PENDING to READY, or to FAILED if any upload failed
+  public CompletableFuture<MediaStatus> uploadPostMedia(Long postId, List<StagedMedia> staged) {
+    List<CompletableFuture<UploadedMedia>> uploads = staged.stream()
+        .map(media -> CompletableFuture.supplyAsync(() -> upload(postId, media), mediaUploadExecutor))
+        .toList();
+
+    return CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0]))
+        .handle((ignored, error) -> complete(postId, uploads));
+  }
+
+  // variantSource is the staged file of a newly stored photo, kept for ImageVariantService
+  private record UploadedMedia(PostMedia media, Path variantSource) {
+  }
+
+  private UploadedMedia upload(Long postId, StagedMedia staged) {
+    boolean keepStagedFile = false;
+    runningUploads.acquireUninterruptibly();
+    try {
+      PostMedia media = new PostMedia();
+      media.setPost(new Post(postId));
+      media.setCreatedAt(LocalDateTime.now());
+      media.setMediaType(staged.contentType() != null && staged.contentType().startsWith("image")
+          ? MediaType.PHOTO : MediaType.VIDEO);
+      media.setContentHash(sha256(staged.path()));
+
+      // Identical content is stored once; later uploads reuse the stored blob and its variants
+      Optional<MediaHash> existing = mediaHashRepository.findById(media.getContentHash());
+      if (existing.isPresent()) {
+        media.setMediaUrl(existing.get().getMediaUrl());
+        media.setThumbnailUrl(existing.get().getThumbnailUrl());
+        media.setMediumUrl(existing.get().getMediumUrl());
+        media.setLargeUrl(existing.get().getLargeUrl());
+        return new UploadedMedia(media, null);
+      }
+
+      Res res = blobStore.upload(staged.path(), staged.fileName(), staged.contentType());
+      if (res.getStatus() != 200) {
+        throw new IllegalStateException("Media upload failed: " + res.getMessage());
+      }
+      media.setMediaUrl(res.getUrl());
+      transactionTemplate.executeWithoutResult(tx -> mediaHashRepository.insertIgnore(
+          media.getContentHash(), media.getMediaUrl(), staged.contentType(), LocalDateTime.now()));
+
+      // Photos keep their staged file until the resized variants have been generated
+      keepStagedFile = media.getMediaType() == MediaType.PHOTO;
+      return new UploadedMedia(media, keepStagedFile ? staged.path() : null);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      runningUploads.release();
+      pendingUploads.release();
+      if (!keepStagedFile) {
+        discard(List.of(staged.path()));
+      }
+    }
+  }
+
+  private String sha256(Path file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      byte[] buffer = new byte[HASH_BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private MediaStatus complete(Long postId, List<CompletableFuture<UploadedMedia>> uploads) {
+    // Keep the media that did upload, in the order the files were sent
+    List<UploadedMedia> uploaded = new ArrayList<>();
+    for (CompletableFuture<UploadedMedia> upload : uploads) {
+      if (upload.isCompletedExceptionally()) {
+        logger.warn("Media upload for post {} failed", postId,
+            upload.handle((media, error) -> error).join());
+      } else {
+        uploaded.add(upload.join());
+      }
+    }
+    MediaStatus status = uploaded.size() == uploads.size() ? MediaStatus.READY : MediaStatus.FAILED;
+    List<Path> variantSources = uploaded.stream()
+        .map(UploadedMedia::variantSource)
+        .filter(Objects::nonNull)
+        .toList();
+
+    try {
+      transactionTemplate.executeWithoutResult(tx -> {
+        postMediaRepository.saveAll(uploaded.stream().map(UploadedMedia::media).toList());
+        postRepository.updateMediaStatus(postId, status);
+      });
+    } catch (RuntimeException e) {
+      // Most likely the post was deleted while its media was uploading
+      logger.warn("Could not attach uploaded media to post {}", postId, e);
+      discard(variantSources);
+      return MediaStatus.FAILED;
+    }
+
+    // Variants are attached by content hash, so the rows must exist before they are generated
+    for (UploadedMedia media : uploaded) {
+      if (media.variantSource() != null) {
+        imageVariantService.generateVariants(media.media().getContentHash(), media.variantSource());
+      }
+    }
+    return status;
+  }
+
+  private void discard(List<Path> stagedFiles) {
+    for (Path stagedFile : stagedFiles) {
+      try {
+        Files.deleteIfExists(stagedFile);
+      } catch (IOException e) {
+        logger.warn("Could not delete staged media file {}", stagedFile, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.paf.skillhub.Post.services;
+
+import com.paf.skillhub.Post.repositories.PostRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Write-behind accumulator for Post.likeCount and Post.commentCount. Likes and comments only
+// bump an in-memory LongAdder; the deltas are written to the post table in batched UPDATEs.
+@Service
+public class PostCounterService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PostCounterService.class);
+
+  private static final String FLUSH_SQL =
+      "UPDATE post SET like_count = like_count + ?, comment_count = comment_count + ? " +
+          "WHERE post_id = ?";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  // Migration V4 backfills the counters when the columns are added; this recounts every post
+  // from post_like and comment on startup to repair drift
+  @Value("${post.counters.reconcile-on-startup:false}")
+  private boolean reconcileOnStartup;
+
+  // Deltas recorded since the last flush
+  private final AtomicReference<ConcurrentHashMap<Long, CounterDelta>> current =
+      new AtomicReference<>(new ConcurrentHashMap<>());
+
+  // Generation swapped out by the previous flush. It is drained once more before being dropped,
+  // so increments from threads that still held a reference to it are not lost.
+  private volatile ConcurrentHashMap<Long, CounterDelta> previous = new ConcurrentHashMap<>();
+
+  // Deltas are recorded once the surrounding transaction commits, so a rolled back like or
+  // comment never changes the counters
+  public void incrementLikes(Long postId) {
+    afterCommit(() -> delta(postId).likes.increment());
+  }
+
+  public void decrementLikes(Long postId) {
+    afterCommit(() -> delta(postId).likes.decrement());
+  }
+
+  public void incrementComments(Long postId) {
+    afterCommit(() -> delta(postId).comments.increment());
+  }
+
+  public void decrementComments(Long postId) {
+    afterCommit(() -> delta(postId).comments.decrement());
+  }
+
+  // Like count not yet written to the database
+  public long pendingLikes(Long postId) {
+    return pending(postId, true);
+  }
+
+  // Comment count not yet written to the database
+  public long pendingComments(Long postId) {
+    return pending(postId, false);
+  }
+
+  @Scheduled(fixedDelayString = "${post.counters.flush-interval-ms:5000}")
+  public synchronized void flush() {
+    ConcurrentHashMap<Long, CounterDelta> draining = previous;
+    previous = current.getAndSet(new ConcurrentHashMap<>());
+
+    Map<Long, long[]> totals = new HashMap<>();
+    collect(previous, totals);
+    collect(draining, totals);
+
+    List<Object[]> batch = new ArrayList<>(totals.size());
+    totals.forEach((postId, delta) -> {
+      if (delta[0] != 0 || delta[1] != 0) {
+        batch.add(new Object[]{delta[0], delta[1], postId});
+      }
+    });
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      // One transaction, so a failed flush writes nothing and the retry cannot double count
+      transactionTemplate.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+    } catch (Exception e) {
+      // Put the deltas back so the next flush retries them
+      logger.error("Failed to flush post counters: {}", e.getMessage());
+      totals.forEach((postId, delta) -> {
+        CounterDelta counterDelta = delta(postId);
+        counterDelta.likes.add(delta[0]);
+        counterDelta.comments.add(delta[1]);
+      });
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void reconcile() {
+    if (reconcileOnStartup) {
+      int updated = postRepository.recountCounters();
+      logger.info("Recounted like and comment counters of {} posts", updated);
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+    flush();
+  }
+
+  private void afterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          change.run();
+        }
+      });
+    } else {
+      change.run();
+    }
+  }
+
+  private CounterDelta delta(Long postId) {
+    return current.get().computeIfAbsent(postId, id -> new CounterDelta());
+  }
+
+  private long pending(Long postId, boolean likes) {
+    long total = 0;
+    for (Map<Long, CounterDelta> generation : List.of(current.get(), previous)) {
+      CounterDelta delta = generation.get(postId);
+      if (delta != null) {
+        total += likes ? delta.likes.sum() : delta.comments.sum();
+      }
+    }
+    return total;
+  }
+
+  // Takes what each adder holds right now and subtracts exactly that amount, so increments
+  // racing with the flush stay in the adder for the next round
+  private void collect(Map<Long, CounterDelta> generation, Map<Long, long[]> totals) {
+    generation.forEach((postId, delta) -> {
+      long likes = delta.likes.sum();
+      long comments = delta.comments.sum();
+      delta.likes.add(-likes);
+      delta.comments.add(-comments);
+
+      long[] total = totals.computeIfAbsent(postId, id -> new long[2]);
+      total[0] += likes;
+      total[1] += comments;
+    });
+  }
+
+  private static class CounterDelta {
+
+    private final LongAdder likes = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+  }
+}
@@ -3,28 +3,30 @@ package com.paf.skillhub.Post.services;
 import com.paf.skillhub.Post.dto.PostDTO;
 import com.paf.skillhub.Post.dto.PostMediaDTO;
 import com.paf.skillhub.Post.dto.PostResponseDTO;
-import com.paf.skillhub.Post.models.MediaType;
+import com.paf.skillhub.Post.models.MediaStatus;
 import com.paf.skillhub.Post.models.Post;
-import com.paf.skillhub.Post.models.PostLike;
 import com.paf.skillhub.Post.models.PostMedia;
 import com.paf.skillhub.Post.repositories.CommentRepository;
 import com.paf.skillhub.Post.repositories.PostLikeRepository;
 import com.paf.skillhub.Post.repositories.PostMediaRepository;
 import com.paf.skillhub.Post.repositories.PostRepository;
+import com.paf.skillhub.Skill.DTOs.SkillDTO;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.Skill.repositories.SkillRepository;
 import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.User.repositories.UserRepository;
-import com.paf.skillhub.utils.GCSUtils.GCSService;
-import com.paf.skillhub.utils.fileUpload.FileUploadService;
-import com.paf.skillhub.utils.fileUpload.Res;
-import java.io.File;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +35,9 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 public class PostService {
 
+  // Number of exported posts after which the output is flushed
+  private static final int EXPORT_FLUSH_INTERVAL = 500;
+
   @Autowired
   private PostRepository postRepository;
 
@@ -52,10 +57,19 @@ public class PostService {
   private SkillRepository skillRepository;
 
   @Autowired
-  private FileUploadService fileUploadService;
+  private MediaUploadService mediaUploadService;
+
+  @Autowired
+  private TimelineService timelineService;
+
+  @Autowired
+  private PostCounterService postCounterService;
+
+  @Autowired
+  private EntityManager entityManager;
 
   @Autowired
-  private GCSService gcsService;
+  private ObjectMapper objectMapper;
 
   public PostResponseDTO getPostById(Long postId, Long viewerId) {
     Post post = postRepository.findById(postId)
@@ -82,7 +96,7 @@ public class PostService {
     // Get skill if skillId is provided
     Skill skill = null;
     if (postDTO.getSkillId() != null) {
-      skill = skillRepository.getSkillBySkillId(postDTO.getSkillId());
+      skill = skillReference(postDTO.getSkillId());
     }
 
     // Get user
@@ -96,32 +110,26 @@ public class PostService {
     newPost.setIsPublic(postDTO.getIsPublic() != null ? postDTO.getIsPublic() : true); // Set default to true if not specified
     newPost.setUser(user);
 
-    Post savedPost = postRepository.save(newPost);
+    // Files are handed off before the post is saved so a failure here leaves no PENDING post
+    List<MediaUploadService.StagedMedia> stagedMedia = mediaUploadService.stage(files);
+    newPost.setMediaStatus(stagedMedia.isEmpty() ? MediaStatus.READY : MediaStatus.PENDING);
 
-    // Handle file uploads
-    List<PostMedia> mediaList = new ArrayList<>();
-    for (MultipartFile file : files) {
-      if (!file.isEmpty()) {
-        File tempFile = File.createTempFile("temp", null);
-        file.transferTo(tempFile);
-
-        // Use GCSService to upload the file
-        Res res = gcsService.uploadFileToGCS(tempFile.toPath(), file.getContentType());
-
-        PostMedia media = new PostMedia();
-        media.setPost(savedPost);
-        media.setCreatedAt(LocalDateTime.now());
-        media.setMediaUrl(res.getUrl());
-        media.setMediaType(
-            file.getContentType().startsWith("image") ? MediaType.PHOTO : MediaType.VIDEO);
-        mediaList.add(media);
+    Post savedPost;
+    try {
+      savedPost = postRepository.save(newPost);
+    } catch (RuntimeException e) {
+      mediaUploadService.discardStaged(stagedMedia);
+      throw e;
+    }
 
-        // Delete the temporary file
-        tempFile.delete();
-      }
+    // Upload the media concurrently in the background; the post becomes READY when done
+    if (!stagedMedia.isEmpty()) {
+      mediaUploadService.uploadPostMedia(savedPost.getPostId(), stagedMedia);
     }
 
-    postMediaRepository.saveAll(mediaList);
+    // Push the post into follower timelines in the background
+    timelineService.fanOutPost(savedPost.getPostId(), user.getUserId(), savedPost.getCreatedAt(),
+        savedPost.getIsPublic());
     return savedPost;
   }
 
@@ -182,6 +190,7 @@ public class PostService {
 //    return savedPost;
 //  }
 
+  @Transactional(readOnly = true)
   public List<PostResponseDTO> getPostsByUser(Long userId) {
     List<Post> posts = postRepository.findByUserUserId(userId);
     return posts.stream()
@@ -189,6 +198,31 @@ public class PostService {
         .collect(Collectors.toList());
   }
 
+  // Writes every post of the user as newline-delimited JSON while reading them from the
+  // database, so memory use does not grow with the number of posts
+  @Transactional(readOnly = true)
+  public void exportPostsByUser(Long userId, OutputStream outputStream) throws IOException {
+    OutputStream out = new BufferedOutputStream(outputStream);
+    try (Stream<Post> posts = postRepository.streamByUserUserId(userId)) {
+      int written = 0;
+      Iterator<Post> iterator = posts.iterator();
+      while (iterator.hasNext()) {
+        Post post = iterator.next();
+        out.write(objectMapper.writeValueAsBytes(mapToPostResponseDTO(post)));
+        out.write('\n');
+
+        // Only the emitted post is detached (its media cascade with it). Clearing the whole
+        // context could hit the next post while Hibernate is still assembling its media rows.
+        entityManager.detach(post);
+
+        if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+          out.flush();
+        }
+      }
+    }
+    out.flush();
+  }
+
   public PostResponseDTO mapToPostResponseDTO(Post post) {
     PostResponseDTO responseDTO = new PostResponseDTO();
     responseDTO.setPostId(post.getPostId());
@@ -198,20 +232,39 @@ public class PostService {
     responseDTO.setUpdatedAt(post.getUpdatedAt());
     responseDTO.setSkillName(post.getSkill() != null ? post.getSkill().getSkillName() : null);
     responseDTO.setIsPublic(post.getIsPublic());
+    responseDTO.setMediaStatus(
+        (post.getMediaStatus() != null ? post.getMediaStatus() : MediaStatus.READY).toString());
+    responseDTO.setLikeCount(
+        post.getLikeCount() + postCounterService.pendingLikes(post.getPostId()));
+    responseDTO.setCommentCount(
+        post.getCommentCount() + postCounterService.pendingComments(post.getPostId()));
 
     // Map all PostMedia to PostMediaDTO
     List<PostMediaDTO> mediaDTOs = post.getPostMedia().stream()
-        .map(media -> new PostMediaDTO(
-            media.getMediaType().toString(),
-            media.getMediaUrl()
-        ))
+        .map(media -> PostMediaDTO.builder()
+            .mediaType(media.getMediaType().toString())
+            .mediaUrl(media.getMediaUrl())
+            .thumbnailUrl(media.getThumbnailUrl())
+            .mediumUrl(media.getMediumUrl())
+            .largeUrl(media.getLargeUrl())
+            .build())
         .collect(Collectors.toList());
     responseDTO.setMedia(mediaDTOs);
 
     return responseDTO;
   }
+  // Detached skill built from the cached DTO, only for setting a post's skill association.
+  // Null for an unknown id. Its users set is empty rather than lazy, so it is safe to serialize.
+  private Skill skillReference(Long skillId) {
+    SkillDTO dto = skillRepository.findSkillDtoById(skillId);
+    if (dto == null) {
+      return null;
+    }
+    return new Skill(dto.getSkillId(), dto.getSkillName(), dto.getDescription(), new HashSet<>());
+  }
+
   public List<Post> getPostsBySkill(Long skillId) {
-    Skill skill = skillRepository.getSkillBySkillId((skillId));
+    Skill skill = skillReference(skillId);
     return postRepository.findBySkill(skill);
   }
 
@@ -228,6 +281,8 @@ public class PostService {
     // Delete post likes manually
     postLikeRepository.deleteByPostPostId(postId);
 
+    // Drop the post from every timeline it was fanned out to
+    timelineService.removePost(postId);
 
 
     // Now delete the post (cascades to comments and media)
@@ -245,29 +300,27 @@ public class PostService {
 
     // Update skill if skillId is provided
     if (postDTO.getSkillId() != null) {
-      Skill skill = skillRepository.getSkillBySkillId(postDTO.getSkillId());
+      Skill skill = skillReference(postDTO.getSkillId());
       existingPost.setSkill(skill);
     }
 
     // Update privacy setting if provided
+    boolean wasPublic = Boolean.TRUE.equals(existingPost.getIsPublic());
     if (postDTO.getIsPublic() != null) {
       existingPost.setIsPublic(postDTO.getIsPublic());
     }
 
     existingPost.setUpdatedAt(LocalDateTime.now());
-    return postRepository.save(existingPost);
-  }
-
-
-  public PostLike addLikeToPost(Long postId, Long userId) {
-    Post post = postRepository.findById(postId)
-        .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-//    User user = new User(userId); // Assuming user exists
-    User user = userRepository.getByUserId(userId); // Assuming user exists
-    PostLike like = new PostLike();
-    like.setPost(post);
-    like.setUser(user);
-    like.setCreatedAt(LocalDateTime.now());
-    return postLikeRepository.save(like);
+    Post savedPost = postRepository.save(existingPost);
+
+    // Keep follower timelines in line with the new visibility
+    boolean isPublic = Boolean.TRUE.equals(savedPost.getIsPublic());
+    Long authorId = savedPost.getUser().getUserId();
+    if (wasPublic && !isPublic) {
+      timelineService.postMadePrivate(postId, authorId);
+    } else if (!wasPublic && isPublic) {
+      timelineService.fanOutPost(postId, authorId, savedPost.getCreatedAt(), true);
+    }
+    return savedPost;
   }
 }
@@ -0,0 +1,132 @@
+package com.paf.skillhub.Post.services;
+
+import com.paf.skillhub.Follow.repositories.FollowerRepository;
+import com.paf.skillhub.Post.repositories.TimelineRepository;
+import com.paf.skillhub.User.repositories.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class TimelineService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+  // Keeps the follower lookup of the trim job to bounded IN lists
+  private static final int TRIM_AUTHOR_BATCH_SIZE = 500;
+
+  // Authors with more followers than this are not fanned out; their posts are pulled at read time
+  @Value("${timeline.fanout.max-followers:10000}")
+  private long maxFanOutFollowers;
+
+  // Number of entries kept per timeline; timelines may exceed it until the next trim
+  @Value("${timeline.max-size:800}")
+  private int maxTimelineSize;
+
+  @Autowired
+  private TimelineRepository timelineRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private FollowerRepository followerRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  // Timelines that got an entry since the last trim: the authors' own, and those of every
+  // follower of a fanned-out author. Only these can have grown past the maximum size.
+  private final Set<Long> touchedTimelines = ConcurrentHashMap.newKeySet();
+  private final Set<Long> fannedOutAuthors = ConcurrentHashMap.newKeySet();
+
+  @Async("timelineExecutor")
+  @Transactional
+  public void fanOutPost(Long postId, Long authorId, LocalDateTime createdAt, boolean isPublic) {
+    timelineRepository.insertEntry(authorId, postId, createdAt);
+    touchedTimelines.add(authorId);
+
+    if (!isPublic) {
+      return;
+    }
+
+    if (isHighFanOutAuthor(authorId)) {
+      logger.debug("Skipping fan-out of post {} for high fan-out author {}", postId, authorId);
+      return;
+    }
+
+    timelineRepository.fanOutToFollowers(authorId, postId, createdAt);
+    fannedOutAuthors.add(authorId);
+  }
+
+  @Transactional
+  public void removePost(Long postId) {
+    timelineRepository.deleteByPostId(postId);
+  }
+
+  // A post made private leaves its followers' timelines; one made public again is fanned out
+  // anew (asynchronously, through fanOutPost)
+  @Transactional
+  public void postMadePrivate(Long postId, Long authorId) {
+    timelineRepository.deleteFollowerEntries(postId, authorId);
+  }
+
+  @Transactional
+  public void removeAuthorFromTimeline(Long userId, Long authorId) {
+    timelineRepository.deleteAuthorEntries(userId, authorId);
+  }
+
+  public boolean isHighFanOutAuthor(Long authorId) {
+    return userRepository.findFollowerCount(authorId).orElse(0L) > maxFanOutFollowers;
+  }
+
+  // Fan-out only appends, so timelines are cut back to their maximum size periodically instead
+  // of on every post. Only the timelines touched since the last run are trimmed, each in its own
+  // short transaction.
+  @Scheduled(fixedDelayString = "${timeline.trim-interval-ms:3600000}")
+  public void trimTimelines() {
+    Set<Long> userIds = new HashSet<>(drain(touchedTimelines));
+    List<Long> authorIds = drain(fannedOutAuthors);
+    for (int from = 0; from < authorIds.size(); from += TRIM_AUTHOR_BATCH_SIZE) {
+      List<Long> batch = authorIds.subList(from,
+          Math.min(from + TRIM_AUTHOR_BATCH_SIZE, authorIds.size()));
+      userIds.addAll(followerRepository.findFollowerUserIdsOf(batch));
+    }
+
+    int deleted = 0;
+    for (Long userId : userIds) {
+      Integer trimmed = transactionTemplate.execute(
+          tx -> timelineRepository.trimTimeline(userId, maxTimelineSize));
+      deleted += trimmed != null ? trimmed : 0;
+    }
+    if (deleted > 0) {
+      logger.info("Trimmed {} entries from {} touched timelines", deleted, userIds.size());
+    }
+  }
+
+  private static List<Long> drain(Set<Long> ids) {
+    List<Long> drained = new ArrayList<>();
+    for (Iterator<Long> it = ids.iterator(); it.hasNext(); ) {
+      drained.add(it.next());
+      it.remove();
+    }
+    return drained;
+  }
+
+  public long getMaxFanOutFollowers() {
+    return maxFanOutFollowers;
+  }
+}
@@ -0,0 +1,129 @@
+package com.paf.skillhub.Post.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.paf.skillhub.Post.repositories.PostLikeRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Per-viewer Bloom filter of liked post ids. A negative answer is definite, so batch like
+// lookups only query post_like for the posts the filter says the viewer might have liked.
+// The filters live in this instance only and just see likes written through it: with more than
+// one backend instance a like made elsewhere reads as not liked here until the filter expires,
+// so this is only correct for a single-instance deployment.
+@Service
+public class ViewerLikeCache {
+
+  private static final int HASH_FUNCTIONS = 7;
+  private static final int BITS_PER_LIKE = 10; // ~1% false positives with 7 hash functions
+  private static final int MIN_BITS = 1024;
+
+  @Value("${likes.viewer-cache.max-viewers:10000}")
+  private int maxViewers;
+
+  @Value("${likes.viewer-cache.ttl-ms:600000}")
+  private long ttlMs;
+
+  @Autowired
+  private PostLikeRepository likeRepository;
+
+  private LoadingCache<Long, LikeFilter> filters;
+
+  @PostConstruct
+  public void init() {
+    filters = Caffeine.newBuilder()
+        .maximumSize(maxViewers)
+        .expireAfterWrite(Duration.ofMillis(ttlMs))
+        .build(this::load);
+  }
+
+  public boolean mightHaveLiked(Long userId, Long postId) {
+    return filters.get(userId).mightContain(postId);
+  }
+
+  // Adds a new like to the viewer's filter once the inserting transaction has committed, so a
+  // filter being built concurrently can never miss it
+  public void recordLike(Long userId, Long postId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          addLike(userId, postId);
+        }
+      });
+    } else {
+      addLike(userId, postId);
+    }
+  }
+
+  // Unlikes are not removed: the stale bit only causes a database check for that post
+
+  // Waits for an in-flight load of the same viewer, so the like is added to the loaded filter
+  private void addLike(Long userId, Long postId) {
+    filters.asMap().computeIfPresent(userId, (id, filter) -> {
+      filter.add(postId);
+      return filter;
+    });
+  }
+
+  private LikeFilter load(Long userId) {
+    List<Long> likedPostIds = likeRepository.findPostIdsLikedByUser(userId);
+    LikeFilter filter = new LikeFilter(Math.max(MIN_BITS, likedPostIds.size() * BITS_PER_LIKE));
+    likedPostIds.forEach(filter::add);
+    return filter;
+  }
+
+  private static class LikeFilter {
+
+    private final AtomicLongArray bits;
+    private final int size;
+
+    LikeFilter(int size) {
+      this.size = size;
+      this.bits = new AtomicLongArray((size + 63) / 64);
+    }
+
+    void add(long value) {
+      long hash = mix(value);
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        int bit = Math.floorMod(h1 + i * h2, size);
+        int index = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+          current = bits.get(index);
+        } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+      }
+    }
+
+    boolean mightContain(long value) {
+      long hash = mix(value);
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        int bit = Math.floorMod(h1 + i * h2, size);
+        if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // SplitMix64 finalizer, spreads sequential post ids over the whole bit array
+    private static long mix(long value) {
+      long z = value + 0x9E3779B97F4A7C15L;
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+    }
+  }
+}
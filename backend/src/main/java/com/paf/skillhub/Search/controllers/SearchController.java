@@ -0,0 +1,41 @@
+package com.paf.skillhub.Search.controllers;
+
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
+import com.paf.skillhub.Search.dto.SearchResultDTO;
+import com.paf.skillhub.Search.services.SearchIndexService;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+  private static final Set<String> TYPES = Set.of(
+      SearchIndexService.TYPE_POST, SearchIndexService.TYPE_COMMENT, SearchIndexService.TYPE_PLAN);
+
+  @Autowired
+  private SearchIndexService searchIndexService;
+
+  // Full-text search; private posts and their comments are only returned to their owner, taken
+  // from the authenticated principal so a client cannot search as someone else
+  @GetMapping
+  public ResponseEntity<List<SearchResultDTO>> search(
+      @AuthenticationPrincipal UserDetailsImpl userDetails,
+      @RequestParam("q") String query,
+      @RequestParam(required = false) String type,
+      @RequestParam(defaultValue = "20") int limit) throws IOException {
+    if (query.isBlank() || limit < 1 || limit > 100 || (type != null && !TYPES.contains(type))) {
+      return ResponseEntity.badRequest().build();
+    }
+    Long viewerId = userDetails != null ? userDetails.getId() : null;
+    return ResponseEntity.ok(searchIndexService.search(query, viewerId, type, limit));
+  }
+}
@@ -0,0 +1,16 @@
+package com.paf.skillhub.Search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+  private String type; // post, comment or plan
+  private Long id;
+  private Long postId; // Post a comment belongs to, or the post linked to a learning plan
+  private String snippet;
+  private float score;
+}
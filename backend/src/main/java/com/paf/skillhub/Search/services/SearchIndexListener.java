@@ -0,0 +1,42 @@
+package com.paf.skillhub.Search.services;
+
+import com.paf.skillhub.Post.models.Comment;
+import com.paf.skillhub.Post.models.Post;
+import com.paf.skillhub.learningplan.models.LearningPlan;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// JPA entity listener feeding SearchIndexService. Hibernate creates it through Spring, and the
+// service is injected lazily because it depends on repositories built after the listeners.
+public class SearchIndexListener {
+
+  @Autowired
+  @Lazy
+  private SearchIndexService searchIndexService;
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(Object entity) {
+    if (entity instanceof Post post) {
+      searchIndexService.indexPost(post);
+    } else if (entity instanceof Comment comment) {
+      searchIndexService.indexComment(comment);
+    } else if (entity instanceof LearningPlan plan) {
+      searchIndexService.indexPlan(plan);
+    }
+  }
+
+  @PostRemove
+  public void onRemove(Object entity) {
+    if (entity instanceof Post post) {
+      searchIndexService.removePost(post.getPostId());
+    } else if (entity instanceof Comment comment) {
+      searchIndexService.removeComment(comment.getCommentId());
+    } else if (entity instanceof LearningPlan plan) {
+      searchIndexService.removePlan(plan.getId());
+    }
+  }
+}
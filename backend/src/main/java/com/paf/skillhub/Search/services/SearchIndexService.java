@@ -0,0 +1,368 @@
+package com.paf.skillhub.Search.services;
+
+import com.paf.skillhub.Post.models.Comment;
+import com.paf.skillhub.Post.models.Post;
+import com.paf.skillhub.Post.repositories.CommentRepository;
+import com.paf.skillhub.Post.repositories.PostRepository;
+import com.paf.skillhub.Search.dto.SearchResultDTO;
+import com.paf.skillhub.learningplan.models.LearningPlan;
+import com.paf.skillhub.learningplan.repositories.LearningPlanRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Embedded Lucene index over post descriptions, comments and learning plans, ranked with BM25
+// (Lucene's default similarity). Changes arrive from SearchIndexListener after commit and are
+// applied on a single thread; searches see them after the next near-real-time refresh.
+@Service
+public class SearchIndexService {
+
+  private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+  public static final String TYPE_POST = "post";
+  public static final String TYPE_COMMENT = "comment";
+  public static final String TYPE_PLAN = "plan";
+
+  private static final String UID = "uid";
+  private static final String TYPE = "type";
+  private static final String ID = "id";
+  private static final String POST_ID = "postId";
+  private static final String PARENT_POST = "parentPost"; // Only on comments, for cascading
+  private static final String OWNER = "owner";
+  private static final String PUBLIC = "public";
+  private static final String TITLE = "title";
+  private static final String TEXT = "text";
+  private static final String SNIPPET = "snippet";
+
+  private static final int SNIPPET_LENGTH = 200;
+  private static final int REINDEX_PAGE_SIZE = 500;
+
+  @Value("${search.index.dir:${java.io.tmpdir}/skillhub-index}")
+  private String indexDirectory;
+
+  // Drop and rebuild the index from the database on startup even when it is not empty
+  @Value("${search.reindex-on-startup:false}")
+  private boolean reindexOnStartup;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private LearningPlanRepository learningPlanRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  @Qualifier("searchIndexExecutor")
+  private Executor searchIndexExecutor;
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+
+  private FSDirectory directory;
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+
+  // Set when an update could not be queued; the index is then rebuilt from the database
+  private final AtomicBoolean rebuildNeeded = new AtomicBoolean();
+
+  @PostConstruct
+  public void open() throws IOException {
+    directory = FSDirectory.open(Paths.get(indexDirectory));
+    writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+        .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+    searcherManager = new SearcherManager(writer, null);
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    searcherManager.close();
+    writer.close(); // Commits pending changes
+    directory.close();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfNeeded() {
+    if (reindexOnStartup || writer.getDocStats().numDocs == 0) {
+      apply(this::reindexAll);
+    }
+  }
+
+  // Near-real-time: makes changes applied since the last refresh visible to searches
+  @Scheduled(fixedDelayString = "${search.refresh-interval-ms:1000}")
+  public void refresh() throws IOException {
+    searcherManager.maybeRefresh();
+  }
+
+  // Retried on every run until the rebuild itself could be queued
+  @Scheduled(fixedDelayString = "${search.rebuild-check-interval-ms:10000}")
+  public void rebuildIfUpdatesDropped() {
+    if (rebuildNeeded.compareAndSet(true, false)) {
+      apply(this::reindexAll);
+    }
+  }
+
+  // Durability only; searches do not depend on commits
+  @Scheduled(fixedDelayString = "${search.commit-interval-ms:60000}")
+  public void commit() throws IOException {
+    if (writer.hasUncommittedChanges()) {
+      writer.commit();
+    }
+  }
+
+  public List<SearchResultDTO> search(String queryText, Long viewerId, String type, int limit)
+      throws IOException {
+    SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 2f, TEXT, 1f));
+    parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+    // Public documents, plus the viewer's own private posts and their comments
+    BooleanQuery.Builder visibility = new BooleanQuery.Builder()
+        .add(new TermQuery(new Term(PUBLIC, "true")), BooleanClause.Occur.SHOULD);
+    if (viewerId != null) {
+      visibility.add(new TermQuery(new Term(OWNER, viewerId.toString())), BooleanClause.Occur.SHOULD);
+    }
+
+    BooleanQuery.Builder query = new BooleanQuery.Builder()
+        .add(parser.parse(queryText), BooleanClause.Occur.MUST)
+        .add(visibility.build(), BooleanClause.Occur.FILTER);
+    if (type != null) {
+      query.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER);
+    }
+
+    IndexSearcher searcher = searcherManager.acquire();
+    try {
+      TopDocs topDocs = searcher.search(query.build(), limit);
+      StoredFields storedFields = searcher.storedFields();
+      List<SearchResultDTO> results = new ArrayList<>(topDocs.scoreDocs.length);
+      for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+        Document document = storedFields.document(scoreDoc.doc);
+        String postId = document.get(POST_ID);
+        results.add(new SearchResultDTO(
+            document.get(TYPE),
+            Long.valueOf(document.get(ID)),
+            postId != null ? Long.valueOf(postId) : null,
+            document.get(SNIPPET),
+            scoreDoc.score));
+      }
+      return results;
+    } finally {
+      searcherManager.release(searcher);
+    }
+  }
+
+  // Documents are built right away from the entity state being flushed, and written once the
+  // transaction commits
+
+  public void indexPost(Post post) {
+    Document document = postDocument(post);
+    Long postId = post.getPostId();
+    afterCommit(() -> {
+      writer.updateDocument(uid(TYPE_POST, postId), document);
+      // Comments carry the visibility of their post
+      reindexComments(postId);
+    });
+  }
+
+  public void indexComment(Comment comment) {
+    Document document = commentDocument(comment);
+    afterCommit(() -> writer.updateDocument(uid(TYPE_COMMENT, comment.getCommentId()), document));
+  }
+
+  public void indexPlan(LearningPlan plan) {
+    Document document = planDocument(plan);
+    afterCommit(() -> writer.updateDocument(uid(TYPE_PLAN, plan.getId()), document));
+  }
+
+  public void removePost(Long postId) {
+    afterCommit(() -> writer.deleteDocuments(
+        uid(TYPE_POST, postId), new Term(PARENT_POST, postId.toString())));
+  }
+
+  public void removeComment(Long commentId) {
+    afterCommit(() -> writer.deleteDocuments(uid(TYPE_COMMENT, commentId)));
+  }
+
+  public void removePlan(Long planId) {
+    afterCommit(() -> writer.deleteDocuments(uid(TYPE_PLAN, planId)));
+  }
+
+  private void reindexComments(Long postId) {
+    List<Document> documents = transactionTemplate.execute(tx ->
+        commentRepository.findByPostPostId(postId).stream().map(this::commentDocument).toList());
+    for (Document document : documents) {
+      writer.updateDocument(new Term(UID, document.get(UID)), document);
+    }
+  }
+
+  private void reindexAll() throws IOException {
+    logger.info("Rebuilding search index");
+    writer.deleteAll();
+    long count = reindex(postRepository, this::postDocument)
+        + reindex(commentRepository, this::commentDocument)
+        + reindex(learningPlanRepository, this::planDocument);
+    writer.commit();
+    searcherManager.maybeRefresh();
+    logger.info("Search index rebuilt with {} documents", count);
+  }
+
+  private <T> long reindex(JpaRepository<T, Long> repository, Function<T, Document> toDocument)
+      throws IOException {
+    long count = 0;
+    for (int page = 0; ; page++) {
+      int pageNumber = page;
+      List<Document> documents = transactionTemplate.execute(tx -> {
+        Page<T> entities = repository.findAll(PageRequest.of(pageNumber, REINDEX_PAGE_SIZE));
+        return entities.getContent().stream().map(toDocument).toList();
+      });
+      if (documents.isEmpty()) {
+        return count;
+      }
+      writer.addDocuments(documents);
+      count += documents.size();
+    }
+  }
+
+  private Document postDocument(Post post) {
+    Document document = baseDocument(TYPE_POST, post.getPostId(), post.getDescription());
+    document.add(new StringField(POST_ID, post.getPostId().toString(), Field.Store.YES));
+    addVisibility(document, post);
+    return document;
+  }
+
+  private Document commentDocument(Comment comment) {
+    Document document = baseDocument(TYPE_COMMENT, comment.getCommentId(), comment.getCommentText());
+    Post post = comment.getPost();
+    if (post != null) {
+      document.add(new StringField(POST_ID, post.getPostId().toString(), Field.Store.YES));
+      document.add(new StringField(PARENT_POST, post.getPostId().toString(), Field.Store.NO));
+      addVisibility(document, post);
+    }
+    return document;
+  }
+
+  // Learning plans have no visibility setting and are searchable by everyone
+  private Document planDocument(LearningPlan plan) {
+    Document document = baseDocument(TYPE_PLAN, plan.getId(),
+        plan.getTitle() != null ? plan.getTitle() : plan.getDescription());
+    if (plan.getTitle() != null) {
+      document.add(new TextField(TITLE, plan.getTitle(), Field.Store.NO));
+    }
+    if (plan.getDescription() != null) {
+      document.add(new TextField(TEXT, plan.getDescription(), Field.Store.NO));
+    }
+    if (plan.getPostId() != null) {
+      document.add(new StoredField(POST_ID, plan.getPostId().toString()));
+    }
+    document.add(new StringField(PUBLIC, "true", Field.Store.NO));
+    return document;
+  }
+
+  private Document baseDocument(String type, Long id, String text) {
+    Document document = new Document();
+    document.add(new StringField(UID, type + ":" + id, Field.Store.YES));
+    document.add(new StringField(TYPE, type, Field.Store.YES));
+    document.add(new StoredField(ID, id.toString()));
+    if (text != null) {
+      if (!TYPE_PLAN.equals(type)) {
+        document.add(new TextField(TEXT, text, Field.Store.NO));
+      }
+      document.add(new StoredField(SNIPPET,
+          text.length() > SNIPPET_LENGTH ? text.substring(0, SNIPPET_LENGTH) : text));
+    }
+    return document;
+  }
+
+  private void addVisibility(Document document, Post post) {
+    document.add(new StringField(PUBLIC,
+        String.valueOf(!Boolean.FALSE.equals(post.getIsPublic())), Field.Store.NO));
+    if (post.getUser() != null) {
+      document.add(new StringField(OWNER, post.getUser().getUserId().toString(), Field.Store.NO));
+    }
+  }
+
+  private Term uid(String type, Long id) {
+    return new Term(UID, type + ":" + id);
+  }
+
+  private interface IndexChange {
+    void run() throws IOException;
+  }
+
+  private void afterCommit(IndexChange change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          apply(change);
+        }
+      });
+    } else {
+      apply(change);
+    }
+  }
+
+  private void apply(IndexChange change) {
+    try {
+      searchIndexExecutor.execute(() -> {
+        try {
+          change.run();
+        } catch (IOException | RuntimeException e) {
+          logger.error("Search index update failed: {}", e.getMessage());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The change is already committed, so a rebuild from the database picks it up
+      if (rebuildNeeded.compareAndSet(false, true)) {
+        logger.warn("Search index queue full, scheduling a full rebuild");
+      }
+    }
+  }
+}
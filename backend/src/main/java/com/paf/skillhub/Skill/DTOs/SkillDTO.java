@@ -1,8 +1,12 @@
 package com.paf.skillhub.Skill.DTOs;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class SkillDTO {
   private Long skillId;
   private String skillName;
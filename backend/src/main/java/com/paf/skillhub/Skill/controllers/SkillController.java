@@ -1,6 +1,7 @@
 package com.paf.skillhub.Skill.controllers;
 
 import com.paf.skillhub.Skill.DTOs.SkillDTO;
+import com.paf.skillhub.Skill.DTOs.SkillStatDto;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.Skill.services.SkillService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,26 @@ public class SkillController {
     return ResponseEntity.ok(skills);
   }
 
+  // Autocomplete on skill names and descriptions, most popular first
+  @GetMapping("/suggest")
+  public ResponseEntity<List<SkillDTO>> suggestSkills(@RequestParam("q") String query,
+      @RequestParam(defaultValue = "10") int limit) {
+    if (limit < 1 || limit > 50) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(skillService.suggestSkills(query, limit));
+  }
+
+  // Skills ranked by number of users
+  @GetMapping("/popular")
+  public ResponseEntity<List<SkillStatDto>> getPopularSkills(
+      @RequestParam(defaultValue = "10") int limit) {
+    if (limit < 1 || limit > 100) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(skillService.getPopularSkills(limit));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<SkillDTO> getSkillById(@PathVariable Long id) {
     SkillDTO skill = skillService.getSkillById(id);
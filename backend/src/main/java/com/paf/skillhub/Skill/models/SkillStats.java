@@ -0,0 +1,28 @@
+package com.paf.skillhub.Skill.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Number of users per skill, kept up to date by SkillStatsService as skills are assigned and
+// removed, so the popularity ranking is an index scan instead of an aggregation of user_skills
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "skill_stats",
+    indexes = @Index(name = "idx_skill_stats_user_count", columnList = "user_count, skill_id"))
+public class SkillStats {
+
+  @Id
+  @Column(name = "skill_id")
+  private Long skillId;
+
+  @Column(name = "user_count", nullable = false)
+  private Long userCount = 0L;
+}
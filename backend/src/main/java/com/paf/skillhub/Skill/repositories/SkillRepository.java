@@ -1,11 +1,15 @@
 package com.paf.skillhub.Skill.repositories;
 
+import com.paf.skillhub.Skill.DTOs.SkillDTO;
 import com.paf.skillhub.Skill.DTOs.SkillStatDto;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.User.models.User;
+import com.paf.skillhub.utils.CacheConfig;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +22,20 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
 
   Skill getSkillBySkillId(Long skillId);
 
+  // Cached as a DTO, not the entity, so cache hits never touch a detached lazy association
+  @Cacheable(value = CacheConfig.SKILL_BY_ID_CACHE, unless = "#result == null")
+  @Query("SELECT new com.paf.skillhub.Skill.DTOs.SkillDTO(s.skillId, s.skillName, s.description) " +
+      "FROM Skill s WHERE s.skillId = :skillId")
+  SkillDTO findSkillDtoById(@Param("skillId") Long skillId);
+
+  @Query("SELECT s.skillId FROM Skill s WHERE s.skillId IN :skillIds")
+  List<Long> findExistingSkillIds(@Param("skillIds") Collection<Long> skillIds);
+
+  @Query(value = "SELECT skill_id FROM user_skills WHERE user_id = :userId AND skill_id IN :skillIds",
+      nativeQuery = true)
+  List<Long> findAssignedSkillIds(@Param("userId") Long userId,
+      @Param("skillIds") Collection<Long> skillIds);
+
   @Query("SELECT s FROM Skill s JOIN s.users u WHERE u.userId = :userId")
   List<Skill> findSkillsByUserId(@Param("userId") Long userId);
 
@@ -0,0 +1,32 @@
+package com.paf.skillhub.Skill.repositories;
+
+import com.paf.skillhub.Skill.DTOs.SkillStatDto;
+import com.paf.skillhub.Skill.models.SkillStats;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SkillStatsRepository extends JpaRepository<SkillStats, Long> {
+
+  @Modifying
+  @Query(value = "INSERT INTO skill_stats (skill_id, user_count) VALUES (:skillId, GREATEST(:delta, 0)) " +
+      "ON DUPLICATE KEY UPDATE user_count = GREATEST(user_count + :delta, 0)", nativeQuery = true)
+  void adjustUserCount(@Param("skillId") Long skillId, @Param("delta") long delta);
+
+  // Reads the top of idx_skill_stats_user_count and joins only the returned rows to skill
+  @Query("SELECT new com.paf.skillhub.Skill.DTOs.SkillStatDto(s.skillId, s.skillName, st.userCount) " +
+      "FROM SkillStats st JOIN Skill s ON s.skillId = st.skillId " +
+      "ORDER BY st.userCount DESC, st.skillId DESC")
+  List<SkillStatDto> findTopSkills(Pageable pageable);
+
+  // Rebuilds every row from user_skills
+  @Modifying
+  @Query(value = "INSERT INTO skill_stats (skill_id, user_count) " +
+      "SELECT s.skill_id, COUNT(us.user_id) FROM skill s " +
+      "LEFT JOIN user_skills us ON us.skill_id = s.skill_id GROUP BY s.skill_id " +
+      "ON DUPLICATE KEY UPDATE user_count = VALUES(user_count)", nativeQuery = true)
+  int recountAll();
+}
@@ -1,11 +1,17 @@
 package com.paf.skillhub.Skill.services;
 
 import com.paf.skillhub.Skill.DTOs.SkillDTO;
+import com.paf.skillhub.Skill.DTOs.SkillStatDto;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.Skill.repositories.SkillRepository;
+import com.paf.skillhub.utils.CacheConfig;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,16 +21,28 @@ public class SkillService {
   @Autowired
   private SkillRepository skillRepository;
 
+  @Autowired
+  private SkillStatsService skillStatsService;
+
+  @Autowired
+  private SkillSuggestService skillSuggestService;
+
+  @CacheEvict(value = CacheConfig.SKILLS_CACHE, allEntries = true)
+  @Transactional
   public SkillDTO addSkill(SkillDTO skillDto) {
     Skill skill = new Skill();
     skill.setSkillName(skillDto.getSkillName());
     skill.setDescription(skillDto.getDescription());
 
     Skill savedSkill = skillRepository.save(skill);
+    skillStatsService.skillCreated(savedSkill.getSkillId());
+    skillSuggestService.skillSaved(savedSkill);
 
     return convertToDto(savedSkill);
   }
 
+  // Skills rarely change, so the full list is served from cache until a write evicts it
+  @Cacheable(CacheConfig.SKILLS_CACHE)
   public List<SkillDTO> getAllSkills() {
     return skillRepository.findAll().stream()
         .map(this::convertToDto)
@@ -32,24 +50,47 @@ public class SkillService {
   }
 
   public SkillDTO getSkillById(Long id) {
-    Skill skill = skillRepository.findById(id)
-        .orElseThrow(() -> new RuntimeException("Skill not found"));
+    SkillDTO skill = skillRepository.findSkillDtoById(id);
+    if (skill == null) {
+      throw new RuntimeException("Skill not found");
+    }
 
-    return convertToDto(skill);
+    return skill;
   }
 
+  @Caching(evict = {
+      @CacheEvict(value = CacheConfig.SKILLS_CACHE, allEntries = true),
+      @CacheEvict(value = CacheConfig.SKILL_BY_ID_CACHE, key = "#id")
+  })
   public Skill updateSkill(Long id, SkillDTO skillDto) {
     Skill skill = skillRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Skill not found"));
     skill.setSkillName(skillDto.getSkillName());
     skill.setDescription(skillDto.getDescription());
-    return skillRepository.save(skill);
+    Skill savedSkill = skillRepository.save(skill);
+    skillSuggestService.skillSaved(savedSkill);
+    return savedSkill;
   }
 
+  @Caching(evict = {
+      @CacheEvict(value = CacheConfig.SKILLS_CACHE, allEntries = true),
+      @CacheEvict(value = CacheConfig.SKILL_BY_ID_CACHE, key = "#id")
+  })
+  @Transactional
   public void deleteSkill(Long id) {
     Skill skill = skillRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Skill not found"));
     skillRepository.delete(skill);
+    skillStatsService.skillDeleted(id);
+    skillSuggestService.skillDeleted(id);
+  }
+
+  public List<SkillDTO> suggestSkills(String query, int limit) {
+    return skillSuggestService.suggest(query, limit);
+  }
+
+  public List<SkillStatDto> getPopularSkills(int limit) {
+    return skillStatsService.getTopSkills(limit);
   }
 
   private SkillDTO convertToDto(Skill skill) {
@@ -0,0 +1,83 @@
+package com.paf.skillhub.Skill.services;
+
+import com.paf.skillhub.Skill.DTOs.SkillStatDto;
+import com.paf.skillhub.Skill.repositories.SkillRepository;
+import com.paf.skillhub.Skill.repositories.SkillStatsRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SkillStatsService {
+
+  private static final Logger logger = LoggerFactory.getLogger(SkillStatsService.class);
+
+  // Rebuild the counts from user_skills on startup even when they look complete
+  @Value("${skills.stats.reconcile-on-startup:false}")
+  private boolean reconcileOnStartup;
+
+  private static final String ADD_USER_SQL =
+      "INSERT INTO skill_stats (skill_id, user_count) VALUES (?, 1) " +
+          "ON DUPLICATE KEY UPDATE user_count = user_count + 1";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private SkillStatsRepository skillStatsRepository;
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  // Callers run inside the transaction that changes user_skills, so both commit together
+
+  public void userAdded(Long skillId) {
+    skillStatsRepository.adjustUserCount(skillId, 1);
+  }
+
+  // One JDBC batch for a user who just got several skills
+  public void usersAdded(Collection<Long> skillIds) {
+    jdbcTemplate.batchUpdate(ADD_USER_SQL, skillIds.stream()
+        .map(skillId -> new Object[]{skillId})
+        .collect(Collectors.toList()));
+  }
+
+  public void userRemoved(Long skillId) {
+    skillStatsRepository.adjustUserCount(skillId, -1);
+  }
+
+  public void skillCreated(Long skillId) {
+    skillStatsRepository.adjustUserCount(skillId, 0);
+  }
+
+  public void skillDeleted(Long skillId) {
+    skillStatsRepository.deleteById(skillId);
+  }
+
+  public List<SkillStatDto> getTopSkills(int limit) {
+    return skillStatsRepository.findTopSkills(PageRequest.of(0, limit));
+  }
+
+  // Fills the table the first time it is deployed, or on demand
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @Transactional
+  public void reconcile() {
+    if (reconcileOnStartup || skillStatsRepository.count() != skillRepository.count()) {
+      int rows = skillStatsRepository.recountAll();
+      logger.info("Rebuilt skill_stats, {} rows written", rows);
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package com.paf.skillhub.Skill.services;
+
+import com.paf.skillhub.Skill.DTOs.SkillDTO;
+import com.paf.skillhub.Skill.models.Skill;
+import com.paf.skillhub.Skill.models.SkillStats;
+import com.paf.skillhub.Skill.repositories.SkillRepository;
+import com.paf.skillhub.Skill.repositories.SkillStatsRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Prefix autocomplete over skill names and descriptions. Terms are kept in a sorted array, so a
+// lookup is a binary search followed by a scan of the matching range, with no database access.
+@Service
+public class SkillSuggestService {
+
+  // Match tiers, best first: whole name starts with the query, a word of the name does, a word
+  // of the description does
+  private static final byte NAME_PREFIX = 0;
+  private static final byte NAME_WORD = 1;
+  private static final byte DESCRIPTION_WORD = 2;
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private SkillStatsRepository skillStatsRepository;
+
+  private final ConcurrentHashMap<Long, SkillDTO> skills = new ConcurrentHashMap<>();
+
+  // Replaced as a whole on every change, so readers never see a half-built index
+  private volatile TermIndex index = new TermIndex(new String[0], new long[0], new byte[0]);
+
+  private volatile Map<Long, Long> popularity = Map.of();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    skills.clear();
+    for (Skill skill : skillRepository.findAll()) {
+      skills.put(skill.getSkillId(), toDto(skill));
+    }
+    refreshPopularity();
+    rebuild();
+  }
+
+  // User counts change with every skill assignment, so ranking uses a periodic snapshot
+  @Scheduled(fixedDelayString = "${skills.suggest.popularity-refresh-ms:60000}")
+  public void refreshPopularity() {
+    Map<Long, Long> counts = new HashMap<>();
+    for (SkillStats stats : skillStatsRepository.findAll()) {
+      counts.put(stats.getSkillId(), stats.getUserCount());
+    }
+    popularity = counts;
+  }
+
+  public List<SkillDTO> suggest(String query, int limit) {
+    String prefix = normalize(query);
+    if (prefix.isEmpty()) {
+      return List.of();
+    }
+
+    TermIndex current = index;
+    Map<Long, Byte> bestTier = new HashMap<>();
+    for (int i = current.lowerBound(prefix); i < current.terms.length
+        && current.terms[i].startsWith(prefix); i++) {
+      bestTier.merge(current.skillIds[i], current.tiers[i], (a, b) -> a <= b ? a : b);
+    }
+
+    Map<Long, Long> counts = popularity;
+    return bestTier.entrySet().stream()
+        .filter(entry -> skills.containsKey(entry.getKey()))
+        .sorted(Comparator.<Map.Entry<Long, Byte>>comparingInt(Map.Entry::getValue)
+            .thenComparing(entry -> counts.getOrDefault(entry.getKey(), 0L), Comparator.reverseOrder())
+            .thenComparing(entry -> skills.get(entry.getKey()).getSkillName(),
+                String.CASE_INSENSITIVE_ORDER))
+        .limit(limit)
+        .map(entry -> skills.get(entry.getKey()))
+        .toList();
+  }
+
+  // Applied once the surrounding transaction commits, so a rolled back write never shows up
+  public void skillSaved(Skill skill) {
+    SkillDTO dto = toDto(skill);
+    afterCommit(() -> {
+      skills.put(dto.getSkillId(), dto);
+      rebuild();
+    });
+  }
+
+  public void skillDeleted(Long skillId) {
+    afterCommit(() -> {
+      skills.remove(skillId);
+      rebuild();
+    });
+  }
+
+  private void afterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          change.run();
+        }
+      });
+    } else {
+      change.run();
+    }
+  }
+
+  // Skills change rarely, so the term array is rebuilt from the in-memory skills instead of
+  // being patched in place; this costs milliseconds for tens of thousands of terms
+  private synchronized void rebuild() {
+    List<Term> terms = new ArrayList<>();
+    for (SkillDTO skill : skills.values()) {
+      String name = normalize(skill.getSkillName());
+      if (!name.isEmpty()) {
+        terms.add(new Term(name, skill.getSkillId(), NAME_PREFIX));
+      }
+      for (String word : words(name)) {
+        terms.add(new Term(word, skill.getSkillId(), NAME_WORD));
+      }
+      for (String word : words(normalize(skill.getDescription()))) {
+        terms.add(new Term(word, skill.getSkillId(), DESCRIPTION_WORD));
+      }
+    }
+    terms.sort(Comparator.comparing(Term::text));
+
+    String[] texts = new String[terms.size()];
+    long[] skillIds = new long[terms.size()];
+    byte[] tiers = new byte[terms.size()];
+    for (int i = 0; i < terms.size(); i++) {
+      texts[i] = terms.get(i).text();
+      skillIds[i] = terms.get(i).skillId();
+      tiers[i] = terms.get(i).tier();
+    }
+    index = new TermIndex(texts, skillIds, tiers);
+  }
+
+  private static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}+#.]+", " ").trim();
+  }
+
+  private static List<String> words(String normalized) {
+    return Arrays.stream(normalized.split(" "))
+        .filter(word -> word.length() > 1)
+        .distinct()
+        .toList();
+  }
+
+  private SkillDTO toDto(Skill skill) {
+    SkillDTO dto = new SkillDTO();
+    dto.setSkillId(skill.getSkillId());
+    dto.setSkillName(skill.getSkillName());
+    dto.setDescription(skill.getDescription());
+    return dto;
+  }
+
+  private record Term(String text, long skillId, byte tier) {
+  }
+
+  private record TermIndex(String[] terms, long[] skillIds, byte[] tiers) {
+
+    // First position whose term is not less than the prefix
+    int lowerBound(String prefix) {
+      int low = 0;
+      int high = terms.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (terms[mid].compareTo(prefix) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
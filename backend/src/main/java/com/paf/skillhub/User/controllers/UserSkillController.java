@@ -22,8 +22,7 @@ public class UserSkillController {
       @PathVariable Long userId,
       @RequestBody List<Long> skillIds) {
     try {
-      userSkillService.addSkillsToUser(userId, skillIds);
-      return ResponseEntity.ok().build();
+      return ResponseEntity.ok(userSkillService.addSkillsToUser(userId, skillIds));
     } catch (RuntimeException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
     }
@@ -0,0 +1,21 @@
+package com.paf.skillhub.User.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAssignmentResultDTO {
+
+  // Skills newly assigned by this request
+  private List<Long> assignedSkillIds;
+
+  // Skills the user already had
+  private List<Long> alreadyAssignedSkillIds;
+
+  // Ids with no matching skill; the rest of the batch is still applied
+  private List<Long> invalidSkillIds;
+}
@@ -13,6 +13,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -66,6 +67,17 @@ public class User {
   private boolean isTwoFactorEnabled = false;
   private String signUpMethod;
 
+  // Embedded in issued JWTs; bumping it revokes every token issued before. Only changed through
+  // UserRepository.incrementTokenVersion, so saving a stale entity cannot roll it back.
+  @Column(nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private int tokenVersion = 0;
+
+  // Maintained by FollowerService through UserRepository.adjustFollowerCount, for the same reason
+  @Column(nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private long followerCount = 0;
+
   @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE})
   @JoinColumn(name = "role_id", referencedColumnName = "role_id")
   @ToString.Exclude // Prevent circular reference
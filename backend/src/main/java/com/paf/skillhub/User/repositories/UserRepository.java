@@ -4,6 +4,7 @@ import com.paf.skillhub.User.models.User;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -27,4 +28,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
   @Query("SELECT u FROM User u WHERE u.role.roleName = :roleName")
   List<User> findByRoleName(@Param("roleName") String roleName);
 
+  @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId")
+  Optional<Integer> findTokenVersion(@Param("userId") Long userId);
+
+  @Query("SELECT u.followerCount FROM User u WHERE u.userId = :userId")
+  Optional<Long> findFollowerCount(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("UPDATE User u SET u.followerCount = u.followerCount + :delta WHERE u.userId = :userId")
+  int adjustFollowerCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+  // Decrements the count of every user the given user follows, before those rows are deleted
+  @Modifying
+  @Query(value = "UPDATE users u JOIN follower f ON f.user_id = u.user_id " +
+      "SET u.follower_count = u.follower_count - 1 WHERE f.follower_user_id = :followerUserId",
+      nativeQuery = true)
+  int decrementFollowerCountsOfFollowed(@Param("followerUserId") Long followerUserId);
+
+  @Modifying
+  @Query("UPDATE User u SET u.password = :password WHERE u.userName = :username")
+  int updatePassword(@Param("username") String username, @Param("password") String password);
+
+  @Modifying
+  @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.userId = :userId")
+  int incrementTokenVersion(@Param("userId") Long userId);
+
 }
\ No newline at end of file
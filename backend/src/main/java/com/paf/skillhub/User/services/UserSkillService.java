@@ -3,11 +3,17 @@ package com.paf.skillhub.User.services;
 import com.paf.skillhub.Skill.DTOs.SkillDTO;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.Skill.repositories.SkillRepository;
+import com.paf.skillhub.Skill.services.SkillStatsService;
+import com.paf.skillhub.User.dtos.SkillAssignmentResultDTO;
 import com.paf.skillhub.User.dtos.UserDTO;
 import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.User.repositories.UserRepository;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,24 +23,75 @@ import java.util.stream.Collectors;
 @Service
 public class UserSkillService {
 
+  // IGNORE keeps a concurrent duplicate assignment from failing the batch
+  private static final String ASSIGN_SQL =
+      "INSERT IGNORE INTO user_skills (user_id, skill_id) VALUES (?, ?)";
+
   @Autowired
   private UserRepository userRepository;
 
   @Autowired
   private SkillRepository skillRepository;
 
+  @Autowired
+  private SkillStatsService skillStatsService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  // Validates all ids with one query and inserts the new user_skills rows as one JDBC batch;
+  // unknown ids are reported instead of failing the whole request
   @Transactional
-  public void addSkillsToUser(Long userId, List<Long> skillIds) {
-    User user = userRepository.findById(userId)
-        .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+  public SkillAssignmentResultDTO addSkillsToUser(Long userId, List<Long> skillIds) {
+    if (!userRepository.existsById(userId)) {
+      throw new RuntimeException("User not found with id: " + userId);
+    }
 
-    for (Long skillId : skillIds) {
-      Skill skill = skillRepository.findById(skillId)
-          .orElseThrow(() -> new RuntimeException("Skill not found with id: " + skillId));
-      user.getSkills().add(skill);
+    Set<Long> requested = new LinkedHashSet<>(skillIds);
+    requested.remove(null);
+    if (requested.isEmpty()) {
+      return new SkillAssignmentResultDTO(List.of(), List.of(), List.of());
     }
 
-    userRepository.save(user);
+    Set<Long> existing = new HashSet<>(skillRepository.findExistingSkillIds(requested));
+    Set<Long> alreadyAssigned = existing.isEmpty()
+        ? Set.of()
+        : new HashSet<>(skillRepository.findAssignedSkillIds(userId, existing));
+
+    List<Long> assigned = new ArrayList<>();
+    List<Long> skipped = new ArrayList<>();
+    List<Long> invalid = new ArrayList<>();
+    for (Long skillId : requested) {
+      if (!existing.contains(skillId)) {
+        invalid.add(skillId);
+      } else if (alreadyAssigned.contains(skillId)) {
+        skipped.add(skillId);
+      } else {
+        assigned.add(skillId);
+      }
+    }
+
+    if (!assigned.isEmpty()) {
+      int[] inserted = jdbcTemplate.batchUpdate(ASSIGN_SQL, assigned.stream()
+          .map(skillId -> new Object[]{userId, skillId})
+          .collect(Collectors.toList()));
+      // A concurrent request may have assigned some of them since the lookup above; INSERT IGNORE
+      // skips those with a row count of 0, and they must not be counted again
+      List<Long> added = new ArrayList<>();
+      for (int i = 0; i < inserted.length; i++) {
+        if (inserted[i] == 1) {
+          added.add(assigned.get(i));
+        } else {
+          skipped.add(assigned.get(i));
+        }
+      }
+      assigned = added;
+      if (!assigned.isEmpty()) {
+        skillStatsService.usersAdded(assigned);
+      }
+    }
+
+    return new SkillAssignmentResultDTO(assigned, skipped, invalid);
   }
 
   @Transactional
@@ -47,7 +104,9 @@ public class UserSkillService {
           Skill skill = skillRepository.findById(skillId)
               .orElseThrow(() -> new RuntimeException("Skill not found with id: " + skillId));
 
-          user.getSkills().add(skill);
+          if (user.getSkills().add(skill)) {
+            skillStatsService.userAdded(skillId);
+          }
           userRepository.save(user);
       }
       catch (Exception e){
@@ -63,7 +122,9 @@ public class UserSkillService {
     Skill skill = skillRepository.findById(skillId)
         .orElseThrow(() -> new RuntimeException("Skill not found with id: " + skillId));
 
-    user.getSkills().remove(skill);
+    if (user.getSkills().remove(skill)) {
+      skillStatsService.userRemoved(skillId);
+    }
     userRepository.save(user);
   }
 
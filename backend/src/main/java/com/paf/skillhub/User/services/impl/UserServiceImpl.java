@@ -2,6 +2,7 @@ package com.paf.skillhub.User.services.impl;
 
 import com.paf.skillhub.Follow.repositories.FollowerRepository;
 import com.paf.skillhub.Notification.repositories.NotificationRepository;
+import com.paf.skillhub.Skill.services.SkillStatsService;
 import com.paf.skillhub.User.dtos.UserDTO;
 import com.paf.skillhub.Auth.models.AppRole;
 import com.paf.skillhub.Auth.models.PasswordResetToken;
@@ -9,6 +10,8 @@ import com.paf.skillhub.Auth.models.Role;
 import com.paf.skillhub.User.models.User;
 import com.paf.skillhub.Auth.repositories.PasswordResetTokenRepository;
 import com.paf.skillhub.Auth.repositories.RoleRepository;
+import com.paf.skillhub.Auth.security.services.RefreshTokenService;
+import com.paf.skillhub.Auth.security.services.TokenVersionService;
 import com.paf.skillhub.User.repositories.UserRepository;
 import com.paf.skillhub.User.services.UserService;
 import com.paf.skillhub.utils.EmailService;
@@ -51,6 +54,15 @@ public class UserServiceImpl implements UserService {
   @Autowired
   EmailService emailService;
 
+  @Autowired
+  SkillStatsService skillStatsService;
+
+  @Autowired
+  TokenVersionService tokenVersionService;
+
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
 
   @Override
   public void updateUserRole(Long userId, String roleName) {
@@ -61,6 +73,8 @@ public class UserServiceImpl implements UserService {
         .orElseThrow(() -> new RuntimeException("Role not found"));
     user.setRole(role);
     userRepository.save(user);
+    // Issued tokens still carry the old role
+    tokenVersionService.revoke(userId);
   }
 
   @Override
@@ -110,6 +124,9 @@ public class UserServiceImpl implements UserService {
         -> new RuntimeException("User not found"));
     user.setAccountNonLocked(!lock);
     userRepository.save(user);
+    if (lock) {
+      tokenVersionService.revoke(userId);
+    }
   }
 
 
@@ -124,6 +141,9 @@ public class UserServiceImpl implements UserService {
         -> new RuntimeException("User not found"));
     user.setAccountNonExpired(!expire);
     userRepository.save(user);
+    if (expire) {
+      tokenVersionService.revoke(userId);
+    }
   }
 
   @Override
@@ -132,6 +152,9 @@ public class UserServiceImpl implements UserService {
         -> new RuntimeException("User not found"));
     user.setEnabled(enabled);
     userRepository.save(user);
+    if (!enabled) {
+      tokenVersionService.revoke(userId);
+    }
   }
 
   @Override
@@ -140,6 +163,9 @@ public class UserServiceImpl implements UserService {
         -> new RuntimeException("User not found"));
     user.setCredentialsNonExpired(!expire);
     userRepository.save(user);
+    if (expire) {
+      tokenVersionService.revoke(userId);
+    }
   }
 
 
@@ -150,6 +176,7 @@ public class UserServiceImpl implements UserService {
           .orElseThrow(() -> new RuntimeException("User not found"));
       user.setPassword(passwordEncoder.encode(password));
       userRepository.save(user);
+      tokenVersionService.revoke(userId);
     } catch (Exception e) {
       throw new RuntimeException("Failed to update password");
     }
@@ -188,6 +215,7 @@ public class UserServiceImpl implements UserService {
     User user = resetToken.getUser();
     user.setPassword(passwordEncoder.encode(newPassword));
     userRepository.save(user);
+    tokenVersionService.revoke(user.getUserId());
 
     resetToken.setUsed(true);
     passwordResetTokenRepository.save(resetToken);
@@ -216,14 +244,18 @@ public class UserServiceImpl implements UserService {
     notificationRepository.deleteBySenderUser_UserId(userId);
 
     // Delete followers
+    userRepository.decrementFollowerCountsOfFollowed(userId);
     followerRepository.deleteByFollowerUser_UserId(userId);
     followerRepository.deleteByUser_UserId(userId);
 
     // Remove user skills
+    user.getSkills().forEach(skill -> skillStatsService.userRemoved(skill.getSkillId()));
     user.getSkills().clear();
     userRepository.save(user);
 
     // Delete the user
+    tokenVersionService.revoke(userId);
+    refreshTokenService.deleteAll(userId);
     userRepository.deleteById(userId);
   }
 
@@ -2,6 +2,7 @@ package com.paf.skillhub.learningplan.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.paf.skillhub.Search.services.SearchIndexListener;
 import com.paf.skillhub.User.models.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -11,10 +12,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "learning_plans")
+@Table(name = "learning_plans",
+        indexes = @Index(name = "idx_learning_plans_user_created", columnList = "user_id, created_at"))
 public class LearningPlan {
 
     @Id
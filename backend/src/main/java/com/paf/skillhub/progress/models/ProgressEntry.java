@@ -13,7 +13,10 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "progress_entries")
+@Table(name = "progress_entries", indexes = {
+        @Index(name = "idx_progress_user_plan", columnList = "user_id, plan_id"),
+        @Index(name = "idx_progress_plan", columnList = "plan_id")
+})
 public class ProgressEntry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,78 @@
+package com.paf.skillhub.utils;
+
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+  // Background writes of new posts into follower timelines
+  @Bean(name = "timelineExecutor")
+  public Executor timelineExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(1000);
+    executor.setThreadNamePrefix("timeline-");
+    executor.initialize();
+    return executor;
+  }
+
+  // Media uploads block on network I/O, so each one gets a virtual thread. MediaUploadService
+  // admits and throttles them itself; a concurrency limit here would block the servlet thread.
+  @Bean(name = "mediaUploadExecutor")
+  public Executor mediaUploadExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("media-upload-");
+    executor.setVirtualThreads(true);
+    return executor;
+  }
+
+  // Resizing photos is CPU bound and holds decoded images in memory, so it runs on a small pool
+  // with a bounded queue; when the queue is full new variants are skipped
+  @Bean(name = "imageProcessingExecutor")
+  public Executor imageProcessingExecutor() {
+    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(200);
+    executor.setThreadNamePrefix("image-");
+    executor.initialize();
+    return executor;
+  }
+
+  // Password hashing is deliberately CPU heavy, so sign-in and sign-up hash on their own pool
+  // instead of the servlet threads. The bounded queue makes a login storm fail fast rather than
+  // starve other requests; its depth is exported as executor.queued{name=passwordHashingExecutor}.
+  @Bean(name = "passwordHashingExecutor")
+  public Executor passwordHashingExecutor(
+      @Value("${security.password.hashing-threads:0}") int threads,
+      @Value("${security.password.hashing-queue-capacity:100}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("password-hash-");
+    executor.initialize();
+    return executor;
+  }
+
+  // Applies search index changes one at a time, in commit order
+  @Bean(name = "searchIndexExecutor")
+  public Executor searchIndexExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(10000);
+    executor.setThreadNamePrefix("search-index-");
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,47 @@
+package com.paf.skillhub.utils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String SKILLS_CACHE = "skills";
+  public static final String SKILL_BY_ID_CACHE = "skillById";
+  public static final String TOKEN_VERSION_CACHE = "tokenVersion";
+
+  // Cache names are declared up front so their hit/miss statistics are bound to the meter
+  // registry at startup (cache.gets, cache.puts, cache.evictions under /actuator/metrics).
+  // Puts and evictions made inside a transaction are applied after it commits, so a
+  // @CacheEvict on a @Transactional method cannot be refilled with the uncommitted old row.
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${cache.skills.max-size:10000}") long maxSize,
+      @Value("${cache.skills.ttl-minutes:60}") long ttlMinutes,
+      @Value("${cache.token-version.max-size:100000}") long tokenVersionMaxSize,
+      @Value("${cache.token-version.ttl-seconds:30}") long tokenVersionTtlSeconds) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+        .recordStats());
+    cacheManager.setCacheNames(List.of(SKILLS_CACHE, SKILL_BY_ID_CACHE));
+    // Revocations are evicted locally; the short TTL bounds how long other instances keep
+    // accepting a revoked token version
+    cacheManager.registerCustomCache(TOKEN_VERSION_CACHE, Caffeine.newBuilder()
+        .maximumSize(tokenVersionMaxSize)
+        .expireAfterWrite(tokenVersionTtlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build());
+    return new TransactionAwareCacheManagerProxy(cacheManager);
+  }
+}
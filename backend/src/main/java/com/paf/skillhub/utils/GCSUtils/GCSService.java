@@ -1,74 +1,160 @@
 package com.paf.skillhub.utils.GCSUtils;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Acl;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import com.paf.skillhub.utils.fileUpload.Res;
+import com.paf.skillhub.utils.storage.BlobStore;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 @Service
-public class GCSService {
+@ConditionalOnProperty(name = "storage.backend", havingValue = "gcs", matchIfMissing = true)
+public class GCSService implements BlobStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(GCSService.class);
+
+  // Resumable upload chunk size and size of the direct buffer used to feed it; GCS requires a
+  // multiple of 256 KiB. Heap use per upload is bounded by this, not by the file size.
+  private static final int UPLOAD_CHUNK_SIZE = 256 * 1024;
 
   private final Storage storage;
-  private static final String BUCKET_NAME = "skill-hub";
-  private static final String SERVICE_ACCOUNT_KEY_PATH = getPathToGoogleCredentials();
+  private final String publicUrlBase;
+  private final boolean emulated;
+  private final String bucketName;
 
-  private static String getPathToGoogleCredentials()
+  // With gcs.emulator-host set (e.g. http://localhost:4443 for fake-gcs-server) uploads go to a
+  // local stand-in without credentials, so the upload path can be exercised offline
+  public GCSService(@Value("${gcs.emulator-host:}") String emulatorHost,
+      @Value("${gcs.bucket:skill-hub}") String bucketName,
+      @Value("${gcs.credentials-path:gcs.json}") String credentialsPath) throws IOException
   {
-    String currentDirectory = System.getProperty("user.dir");
-    Path filePath = Paths.get(currentDirectory, "gcs.json");
-    return filePath.toString();
+    this.bucketName = bucketName;
+    this.emulated = !emulatorHost.isBlank();
+    if (emulated) {
+      this.storage = StorageOptions.newBuilder()
+          .setHost(emulatorHost)
+          .setProjectId("local")
+          .setCredentials(NoCredentials.getInstance())
+          .build()
+          .getService();
+      this.publicUrlBase = emulatorHost;
+    } else {
+      this.storage = StorageOptions.newBuilder()
+          .setCredentials(ServiceAccountCredentials.fromStream(new FileInputStream(
+              Paths.get(System.getProperty("user.dir")).resolve(credentialsPath).toFile())))
+          .build()
+          .getService();
+      this.publicUrlBase = "https://storage.googleapis.com";
+    }
   }
 
-  public GCSService() throws IOException
+  public Res uploadFileToGCS(Path filePath, String contentType)
   {
-    this.storage = StorageOptions.newBuilder()
-        .setCredentials(ServiceAccountCredentials.fromStream(new FileInputStream(SERVICE_ACCOUNT_KEY_PATH)))
-        .build()
-        .getService();
+    Res res = upload(filePath, contentType);
+
+    if (res.getStatus() == 200) {
+      try {
+        // Optionally delete the local file
+        Files.delete(filePath);
+      } catch (IOException e) {
+        logger.warn("Could not delete uploaded file {}", filePath, e);
+      }
+    }
+    return res;
   }
 
-  public Res uploadFileToGCS(Path filePath, String contentType)
+  // Uploads straight from a stream, so the file is never held in memory as a whole
+  public Res uploadStreamToGCS(InputStream inputStream, String fileName, String contentType)
+  {
+    return upload(inputStream, fileName, contentType);
+  }
+
+  @Override
+  public Res upload(InputStream inputStream, String fileName, String contentType)
+  {
+    return upload(Channels.newChannel(inputStream), fileName, contentType);
+  }
+
+  @Override
+  public Res upload(Path filePath, String fileName, String contentType)
+  {
+    try (FileChannel source = FileChannel.open(filePath)) {
+      return upload(source, fileName, contentType);
+    }
+    catch (IOException e)
+    {
+      return failure(e);
+    }
+  }
+
+  private Res upload(ReadableByteChannel source, String fileName, String contentType)
   {
     Res res = new Res();
 
     try {
-      String blobName = UUID.randomUUID() + "-" + filePath.getFileName().toString();
-      BlobId blobId = BlobId.of(BUCKET_NAME, blobName);
+      String blobName = UUID.randomUUID() + "-" + fileName;
+      BlobId blobId = BlobId.of(bucketName, blobName);
       BlobInfo blobInfo = BlobInfo.newBuilder(blobId).setContentType(contentType).build();
 
-      // Upload the file to GCS
-      storage.create(blobInfo, Files.readAllBytes(filePath));
+      // Resumable upload, fed chunk by chunk from the source
+      try (WriteChannel writer = storage.writer(blobInfo)) {
+        writer.setChunkSize(UPLOAD_CHUNK_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(UPLOAD_CHUNK_SIZE);
+        while (source.read(buffer) != -1) {
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            writer.write(buffer);
+          }
+          buffer.clear();
+        }
+      }
 
-      // Make the file public
-      storage.createAcl(blobId, Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
+      // Make the file public; the emulator serves every object anyway
+      if (!emulated) {
+        storage.createAcl(blobId, Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
+      }
 
-      String fileUrl = "https://storage.googleapis.com/" + BUCKET_NAME + "/" + blobName;
-      System.out.println("FILE URL: " + fileUrl);
+      String fileUrl = publicUrlBase + "/" + bucketName + "/" + blobName;
+      logger.debug("Uploaded {} to {}", fileName, fileUrl);
 
       res.setStatus(200);
       res.setMessage("File Successfully Uploaded To GCS");
       res.setUrl(fileUrl);
-
-      // Optionally delete the local file
-      Files.delete(filePath);
     }
     catch (Exception e)
     {
-      System.out.println(e.getMessage());
-      res.setStatus(500);
-      res.setMessage(e.getMessage());
+      res = failure(e);
     }
 
     return res;
   }
-}
\ No newline at end of file
+
+  private Res failure(Exception e)
+  {
+    logger.error("Upload to GCS bucket {} failed", bucketName, e);
+    Res res = new Res();
+    res.setStatus(500);
+    res.setMessage(e.getMessage());
+    return res;
+  }
+}
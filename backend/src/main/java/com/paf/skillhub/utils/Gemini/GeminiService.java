@@ -1,12 +1,17 @@
 package com.paf.skillhub.utils.Gemini;
 
+import com.paf.skillhub.Skill.DTOs.SkillStatDto;
 import com.paf.skillhub.Skill.models.Skill;
 import com.paf.skillhub.Skill.repositories.SkillRepository;
-import jakarta.annotation.PostConstruct;
+import com.paf.skillhub.Skill.services.SkillStatsService;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -31,6 +36,9 @@ public class GeminiService {
   @Autowired
   private SkillRepository skillRepository;
 
+  @Autowired
+  private SkillStatsService skillStatsService;
+
   @Autowired
   private EntityManager entityManager;
 
@@ -40,7 +48,9 @@ public class GeminiService {
     this.restTemplate = restTemplate;
   }
 
-  @PostConstruct
+  // Runs after SkillStatsService has reconciled the skill counts
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.LOWEST_PRECEDENCE)
   public void initializeContext() {
     updateContext();
   }
@@ -132,17 +142,15 @@ public class GeminiService {
       contextBuilder.append("=== SKILLS DATABASE SUMMARY ===\n\n");
       contextBuilder.append("Total skills in database: ").append(skillCount).append("\n\n");
 
-      // Use ONLY the native query for popular skills to avoid LazyInitializationException
+      // Popular skills come from the maintained skill_stats counts
       contextBuilder.append("MOST POPULAR SKILLS:\n");
-      List<Object[]> topSkillsData = skillRepository.findMostPopularSkillsNative(5);
-      if (topSkillsData != null && !topSkillsData.isEmpty()) {
+      List<SkillStatDto> topSkills = skillStatsService.getTopSkills(5);
+      if (!topSkills.isEmpty()) {
         int rank = 1;
-        for (Object[] skillData : topSkillsData) {
-          String skillName = (String) skillData[1];
-          Long userCount = ((Number) skillData[2]).longValue(); // Handle potential type differences
+        for (SkillStatDto skillStat : topSkills) {
           contextBuilder.append(rank++).append(". ")
-              .append(skillName)
-              .append(" (").append(userCount).append(" users)\n");
+              .append(skillStat.getSkillName())
+              .append(" (").append(skillStat.getUserCount()).append(" users)\n");
         }
       } else {
         contextBuilder.append("No skills with users found.\n");
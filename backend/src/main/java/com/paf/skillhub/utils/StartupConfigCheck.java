@@ -0,0 +1,57 @@
+package com.paf.skillhub.utils;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// application.yml carries the intended defaults, but the gitignored application.properties next
+// to it wins on every key it repeats. This catches local copies that still carry the old values;
+// see application.properties.example for the expected settings.
+@Component
+public class StartupConfigCheck {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupConfigCheck.class);
+
+  // Modes that leave the schema to the Flyway migrations
+  private static final Set<String> ALLOWED_DDL_AUTO = Set.of("", "none", "validate");
+
+  // Access tokens are checked without a database lookup, so this bounds how long a revoked
+  // session keeps working
+  private static final long MAX_ACCESS_TOKEN_MS = 15 * 60 * 1000;
+
+  @Value("${spring.jpa.hibernate.ddl-auto:none}")
+  private String ddlAuto;
+
+  @Value("${spring.jpa.properties.hibernate.hbm2ddl.auto:}")
+  private String hbm2ddlAuto;
+
+  @Value("${spring.app.jwtExpirationMs}")
+  private long jwtExpirationMs;
+
+  @Value("${spring.app.jwtRefreshExpirationMs:1209600000}")
+  private long jwtRefreshExpirationMs;
+
+  @PostConstruct
+  public void check() {
+    for (String mode : new String[]{ddlAuto, hbm2ddlAuto}) {
+      if (!ALLOWED_DDL_AUTO.contains(mode.trim().toLowerCase())) {
+        throw new IllegalStateException("Hibernate ddl-auto is '" + mode
+            + "', but the schema is managed by Flyway; set it to none or validate");
+      }
+    }
+
+    if (jwtExpirationMs >= jwtRefreshExpirationMs) {
+      throw new IllegalStateException("spring.app.jwtExpirationMs (" + jwtExpirationMs
+          + ") must be shorter than spring.app.jwtRefreshExpirationMs ("
+          + jwtRefreshExpirationMs + ")");
+    }
+    if (jwtExpirationMs > MAX_ACCESS_TOKEN_MS) {
+      logger.warn("spring.app.jwtExpirationMs is {} ms; revoked sessions keep working until their "
+          + "access token expires, so keep it at {} ms or less", jwtExpirationMs,
+          MAX_ACCESS_TOKEN_MS);
+    }
+  }
+}
@@ -2,25 +2,46 @@ package com.paf.skillhub.utils.fileUpload;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.AbstractInputStreamContent;
 import com.google.api.client.http.FileContent;
+import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
+import com.paf.skillhub.utils.storage.BlobStore;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 @Service
-public class FileUploadService {
+@ConditionalOnProperty(name = "storage.backend", havingValue = "drive")
+public class FileUploadService implements BlobStore {
 
   private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
   private static final String SERVICE_ACOUNT_KEY_PATH = getPathToGoodleCredentials();
+  private static final String FOLDER_ID = "1gXa8Nf-nYLBORoTQi-KIyCH6_1hskQpk";
+
+  // Files larger than this, or of unknown length, use a chunked resumable upload
+  @Value("${drive.upload.resumable-threshold:5242880}")
+  private long resumableThreshold;
+
+  // Must be a multiple of 256 KiB
+  @Value("${drive.upload.chunk-size:8388608}")
+  private int chunkSize;
+
+  // Built on first use and shared: one transport with its connection pool, and one credential
+  // that caches its access token and refreshes it when it expires
+  private volatile Drive drive;
 
   private static String getPathToGoodleCredentials()
   {
@@ -35,15 +56,7 @@ public class FileUploadService {
 
     try
     {
-      String folderId = "1gXa8Nf-nYLBORoTQi-KIyCH6_1hskQpk";
-      Drive drive = createDriveService();
-      com.google.api.services.drive.model.File fileMetaData = new com.google.api.services.drive.model.File();
-      fileMetaData.setName(file.getName());
-      fileMetaData.setParents(Collections.singletonList(folderId));
-      FileContent mediaContent = new FileContent("image/jpeg", file);
-      com.google.api.services.drive.model.File uploadedFile = drive.files().create(fileMetaData, mediaContent)
-          .setFields("id").execute();
-      String imageUrl = "https://drive.google.com/uc?export=view&id="+uploadedFile.getId();
+      String imageUrl = createFile(file.getName(), new FileContent("image/jpeg", file));
       System.out.println("IMAGE URL: " + imageUrl);
       file.delete();
       res.setStatus(200);
@@ -60,11 +73,28 @@ public class FileUploadService {
 
   }
 
+  private Drive getDriveService() throws GeneralSecurityException, IOException
+  {
+    Drive result = drive;
+    if (result == null) {
+      synchronized (this) {
+        if (drive == null) {
+          drive = createDriveService();
+        }
+        result = drive;
+      }
+    }
+    return result;
+  }
+
   private Drive createDriveService() throws GeneralSecurityException, IOException
   {
 
-    GoogleCredential credential = GoogleCredential.fromStream(new FileInputStream(SERVICE_ACOUNT_KEY_PATH))
-        .createScoped(Collections.singleton(DriveScopes.DRIVE));
+    GoogleCredential credential;
+    try (FileInputStream credentialStream = new FileInputStream(SERVICE_ACOUNT_KEY_PATH)) {
+      credential = GoogleCredential.fromStream(credentialStream)
+          .createScoped(Collections.singleton(DriveScopes.DRIVE));
+    }
 
     return new Drive.Builder(
         GoogleNetHttpTransport.newTrustedTransport(),
@@ -74,24 +104,54 @@ public class FileUploadService {
 
   }
 
+  // Creates the file in the upload folder and returns its view URL
+  private String createFile(String name, AbstractInputStreamContent content)
+      throws GeneralSecurityException, IOException
+  {
+    com.google.api.services.drive.model.File fileMetaData = new com.google.api.services.drive.model.File();
+    fileMetaData.setName(name);
+    fileMetaData.setParents(Collections.singletonList(FOLDER_ID));
+
+    Drive.Files.Create create = getDriveService().files().create(fileMetaData, content);
+    MediaHttpUploader uploader = create.getMediaHttpUploader();
+    long length = content.getLength();
+    if (length < 0 || length > resumableThreshold) {
+      uploader.setDirectUploadEnabled(false);
+      uploader.setChunkSize(chunkSize);
+    } else {
+      uploader.setDirectUploadEnabled(true);
+    }
+
+    com.google.api.services.drive.model.File uploadedFile = create.setFields("id").execute();
+    return "https://drive.google.com/uc?export=view&id=" + uploadedFile.getId();
+  }
+
   public Res uploadFileToDrive(File file, String contentType) throws GeneralSecurityException, IOException {
+    Res res = upload(file.toPath(), contentType);
+    if (res.getStatus() == 200) {
+      System.out.println("FILE URL: " + res.getUrl());
+      file.delete();
+    }
+    return res;
+  }
+
+  @Override
+  public Res upload(Path file, String fileName, String contentType) {
+    return upload(fileName, new FileContent(contentType, file.toFile()));
+  }
+
+  @Override
+  public Res upload(InputStream inputStream, String fileName, String contentType) {
+    return upload(fileName, new InputStreamContent(contentType, inputStream));
+  }
+
+  private Res upload(String fileName, AbstractInputStreamContent content) {
     Res res = new Res();
 
     try {
-      String folderId = "1gXa8Nf-nYLBORoTQi-KIyCH6_1hskQpk";
-      Drive drive = createDriveService();
-      com.google.api.services.drive.model.File fileMetaData = new com.google.api.services.drive.model.File();
-      fileMetaData.setName(file.getName());
-      fileMetaData.setParents(Collections.singletonList(folderId));
-      FileContent mediaContent = new FileContent(contentType, file);
-      com.google.api.services.drive.model.File uploadedFile = drive.files().create(fileMetaData, mediaContent)
-          .setFields("id").execute();
-      String fileUrl = "https://drive.google.com/uc?export=view&id=" + uploadedFile.getId();
-      System.out.println("FILE URL: " + fileUrl);
-      file.delete();
       res.setStatus(200);
       res.setMessage("File Successfully Uploaded To Drive");
-      res.setUrl(fileUrl);
+      res.setUrl(createFile(fileName, content));
     } catch (Exception e) {
       System.out.println(e.getMessage());
       res.setStatus(500);
@@ -100,4 +160,3 @@ public class FileUploadService {
     return res;
   }
 }
-
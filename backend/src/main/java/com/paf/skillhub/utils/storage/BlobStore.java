@@ -0,0 +1,22 @@
+package com.paf.skillhub.utils.storage;
+
+import com.paf.skillhub.utils.fileUpload.Res;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+// Storage backend for uploaded media, selected with storage.backend (gcs, drive or local).
+// Uploads never throw; failures come back as a Res with status 500 and the error message.
+public interface BlobStore {
+
+  // Stores the content under a new unique name; on success the Res carries its public URL
+  Res upload(InputStream inputStream, String fileName, String contentType);
+
+  // Stores a local file under a name derived from fileName, leaving the file itself in place.
+  // Backends read the file directly here rather than going through a stream.
+  Res upload(Path file, String fileName, String contentType);
+
+  // Same, naming the blob after the local file
+  default Res upload(Path file, String contentType) {
+    return upload(file, file.getFileName().toString(), contentType);
+  }
+}
@@ -0,0 +1,102 @@
+package com.paf.skillhub.utils.storage;
+
+import com.paf.skillhub.utils.fileUpload.Res;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Stores media on local disk and serves it under storage.local.public-url, so the app runs
+// and can be load tested with no network and no cloud credentials
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+  // Files are copied through memory-mapped windows of this size
+  private static final long MAP_WINDOW_SIZE = 64L * 1024 * 1024;
+
+  @Value("${storage.local.root:${java.io.tmpdir}/skillhub-media}")
+  private String rootDirectory;
+
+  @Value("${storage.local.public-url:/media}")
+  private String publicUrl;
+
+  private Path root;
+
+  @PostConstruct
+  public void init() throws IOException {
+    root = Paths.get(rootDirectory).toAbsolutePath();
+    Files.createDirectories(root);
+  }
+
+  public Path getRoot() {
+    return root;
+  }
+
+  public String getPublicUrl() {
+    return publicUrl;
+  }
+
+  @Override
+  public Res upload(InputStream inputStream, String fileName, String contentType) {
+    try {
+      String blobName = newBlobName(fileName);
+      Files.copy(inputStream, root.resolve(blobName));
+      return success(blobName);
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  @Override
+  public Res upload(Path file, String fileName, String contentType) {
+    try {
+      String blobName = newBlobName(fileName);
+      try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+          FileChannel target = FileChannel.open(root.resolve(blobName),
+              StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+        long size = source.size();
+        for (long position = 0; position < size; position += MAP_WINDOW_SIZE) {
+          MappedByteBuffer window = source.map(MapMode.READ_ONLY, position,
+              Math.min(MAP_WINDOW_SIZE, size - position));
+          while (window.hasRemaining()) {
+            target.write(window);
+          }
+        }
+      }
+      return success(blobName);
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  // Only the last path segment of the client's name is kept, so it can never leave the root
+  private String newBlobName(String fileName) {
+    return UUID.randomUUID() + "-" + Paths.get(fileName).getFileName();
+  }
+
+  private Res success(String blobName) {
+    Res res = new Res();
+    res.setStatus(200);
+    res.setMessage("File Successfully Stored Locally");
+    res.setUrl(publicUrl + "/" + blobName);
+    return res;
+  }
+
+  private Res failure(Exception e) {
+    Res res = new Res();
+    res.setStatus(500);
+    res.setMessage(e.getMessage());
+    return res;
+  }
+}
@@ -0,0 +1,22 @@
+package com.paf.skillhub.utils.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Serves the files written by LocalBlobStore
+@Configuration
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalMediaConfig implements WebMvcConfigurer {
+
+  @Autowired
+  private LocalBlobStore localBlobStore;
+
+  @Override
+  public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    registry.addResourceHandler(localBlobStore.getPublicUrl() + "/**")
+        .addResourceLocations(localBlobStore.getRoot().toUri().toString());
+  }
+}
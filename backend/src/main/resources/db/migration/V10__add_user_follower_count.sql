@@ -0,0 +1,4 @@
+ALTER TABLE users ADD COLUMN follower_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET u.follower_count = (SELECT COUNT(*) FROM follower f WHERE f.user_id = u.user_id);
@@ -0,0 +1,2 @@
+-- Tokens revoked before this column existed keep a NULL reason and are treated as not rotated
+ALTER TABLE refresh_token ADD COLUMN revoke_reason ENUM('ROTATED', 'LOGGED_OUT', 'REVOKED');
@@ -0,0 +1,186 @@
+-- Schema as generated by hibernate ddl-auto=update before migrations were introduced. Existing
+-- databases are baselined at this version and skip this script; later versions apply to both.
+
+CREATE TABLE IF NOT EXISTS roles (
+  role_id INT NOT NULL AUTO_INCREMENT,
+  role_name ENUM('ROLE_USER', 'ROLE_ADMIN'),
+  PRIMARY KEY (role_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+  user_id BIGINT NOT NULL AUTO_INCREMENT,
+  username VARCHAR(20) NOT NULL,
+  email VARCHAR(50) NOT NULL,
+  password VARCHAR(120),
+  account_non_locked BIT NOT NULL,
+  account_non_expired BIT NOT NULL,
+  credentials_non_expired BIT NOT NULL,
+  enabled BIT NOT NULL,
+  credentials_expiry_date DATE,
+  account_expiry_date DATE,
+  two_factor_secret VARCHAR(255),
+  is_two_factor_enabled BIT NOT NULL,
+  sign_up_method VARCHAR(255),
+  role_id INT,
+  created_date DATETIME(6),
+  updated_date DATETIME(6),
+  PRIMARY KEY (user_id),
+  CONSTRAINT uk_users_username UNIQUE (username),
+  CONSTRAINT uk_users_email UNIQUE (email),
+  CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (role_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS password_reset_token (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  token VARCHAR(255) NOT NULL,
+  expiry_date DATETIME(6) NOT NULL,
+  user_id BIGINT NOT NULL,
+  used BIT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_password_reset_token_token UNIQUE (token),
+  CONSTRAINT fk_password_reset_token_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS skill (
+  skill_id BIGINT NOT NULL AUTO_INCREMENT,
+  skill_name VARCHAR(255) NOT NULL,
+  description VARCHAR(255),
+  PRIMARY KEY (skill_id),
+  CONSTRAINT uk_skill_skill_name UNIQUE (skill_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_skills (
+  user_id BIGINT NOT NULL,
+  skill_id BIGINT NOT NULL,
+  PRIMARY KEY (user_id, skill_id),
+  CONSTRAINT fk_user_skills_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+  CONSTRAINT fk_user_skills_skill FOREIGN KEY (skill_id) REFERENCES skill (skill_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS follower (
+  follower_id BIGINT NOT NULL AUTO_INCREMENT,
+  user_id BIGINT,
+  follower_user_id BIGINT,
+  created_at DATETIME(6),
+  PRIMARY KEY (follower_id),
+  CONSTRAINT fk_follower_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+  CONSTRAINT fk_follower_follower_user FOREIGN KEY (follower_user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post (
+  post_id BIGINT NOT NULL AUTO_INCREMENT,
+  user_id BIGINT,
+  skill_id BIGINT,
+  description VARCHAR(255),
+  is_public BIT,
+  created_at DATETIME(6),
+  updated_at DATETIME(6),
+  PRIMARY KEY (post_id),
+  CONSTRAINT fk_post_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+  CONSTRAINT fk_post_skill FOREIGN KEY (skill_id) REFERENCES skill (skill_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post_media (
+  media_id BIGINT NOT NULL AUTO_INCREMENT,
+  post_id BIGINT,
+  media_type ENUM('PHOTO', 'VIDEO'),
+  media_url VARCHAR(255),
+  created_at DATETIME(6),
+  PRIMARY KEY (media_id),
+  CONSTRAINT fk_post_media_post FOREIGN KEY (post_id) REFERENCES post (post_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS comment (
+  comment_id BIGINT NOT NULL AUTO_INCREMENT,
+  post_id BIGINT,
+  user_id BIGINT,
+  comment_text VARCHAR(255),
+  created_at DATETIME(6),
+  updated_at DATETIME(6),
+  PRIMARY KEY (comment_id),
+  CONSTRAINT fk_comment_post FOREIGN KEY (post_id) REFERENCES post (post_id),
+  CONSTRAINT fk_comment_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post_like (
+  like_id BIGINT NOT NULL AUTO_INCREMENT,
+  post_id BIGINT,
+  user_id BIGINT,
+  created_at DATETIME(6),
+  PRIMARY KEY (like_id),
+  CONSTRAINT fk_post_like_post FOREIGN KEY (post_id) REFERENCES post (post_id),
+  CONSTRAINT fk_post_like_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS notification (
+  notification_id BIGINT NOT NULL AUTO_INCREMENT,
+  user_id BIGINT,
+  notification_type ENUM('LIKE', 'COMMENT', 'POST', 'FOLLOW'),
+  sender_user_id BIGINT,
+  message VARCHAR(255),
+  is_read BIT,
+  created_at DATETIME(6),
+  PRIMARY KEY (notification_id),
+  CONSTRAINT fk_notification_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+  CONSTRAINT fk_notification_sender FOREIGN KEY (sender_user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS learning_plans (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  title VARCHAR(255),
+  description VARCHAR(255),
+  expected_start_date DATE,
+  expected_end_date DATE,
+  expected_duration_days DOUBLE NOT NULL,
+  status ENUM('NOT_STARTED', 'IN_PROGRESS', 'COMPLETED', 'ON_HOLD'),
+  completion_percentage DOUBLE,
+  post_id BIGINT,
+  created_at DATETIME(6),
+  updated_at DATETIME(6),
+  user_id BIGINT,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_learning_plans_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS learning_items (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  topic VARCHAR(255),
+  resource VARCHAR(255),
+  completed BIT NOT NULL,
+  assigned_date DATE,
+  deadline DATE,
+  plan_id BIGINT,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_learning_items_plan FOREIGN KEY (plan_id) REFERENCES learning_plans (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS progress_entries (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  title VARCHAR(255),
+  description VARCHAR(255),
+  `date` DATE,
+  template_type ENUM('CERTIFICATE', 'SKILL', 'MILESTONE', 'DAILY_LOG'),
+  plan_id BIGINT,
+  user_id BIGINT,
+  resource TEXT,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_progress_entries_plan FOREIGN KEY (plan_id) REFERENCES learning_plans (id),
+  CONSTRAINT fk_progress_entries_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS progress_entry_media_urls (
+  progress_entry_id BIGINT NOT NULL,
+  media_urls VARCHAR(255),
+  CONSTRAINT fk_progress_entry_media_urls_entry FOREIGN KEY (progress_entry_id)
+    REFERENCES progress_entries (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS audit_log (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  action VARCHAR(255),
+  username VARCHAR(255),
+  post_id BIGINT,
+  post_content VARCHAR(255),
+  `timestamp` DATETIME(6),
+  PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,22 @@
+CREATE TABLE timeline_entry (
+  timeline_entry_id BIGINT NOT NULL AUTO_INCREMENT,
+  user_id BIGINT NOT NULL,
+  post_id BIGINT NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (timeline_entry_id),
+  CONSTRAINT uk_timeline_entry_user_post UNIQUE (user_id, post_id),
+  INDEX idx_timeline_user_created (user_id, created_at, post_id),
+  INDEX idx_timeline_post (post_id)
+) ENGINE = InnoDB;
+
+-- Existing posts: every author's own posts, and public posts in their followers' timelines
+INSERT IGNORE INTO timeline_entry (user_id, post_id, created_at)
+SELECT p.user_id, p.post_id, p.created_at
+FROM post p
+WHERE p.user_id IS NOT NULL AND p.created_at IS NOT NULL;
+
+INSERT IGNORE INTO timeline_entry (user_id, post_id, created_at)
+SELECT f.follower_user_id, p.post_id, p.created_at
+FROM post p
+JOIN follower f ON f.user_id = p.user_id
+WHERE p.is_public = TRUE AND p.created_at IS NOT NULL AND f.follower_user_id IS NOT NULL;
@@ -0,0 +1,9 @@
+-- Keep the oldest like of each (post, user) pair before enforcing uniqueness
+DELETE newer
+FROM post_like newer
+JOIN post_like older
+  ON older.post_id = newer.post_id
+  AND older.user_id = newer.user_id
+  AND older.like_id < newer.like_id;
+
+ALTER TABLE post_like ADD CONSTRAINT uk_post_like_post_user UNIQUE (post_id, user_id);
@@ -0,0 +1,19 @@
+-- Existing posts keep a NULL status, which is reported as READY
+ALTER TABLE post ADD COLUMN media_status ENUM('PENDING', 'READY', 'FAILED');
+
+ALTER TABLE post_media
+  ADD COLUMN content_hash VARCHAR(64),
+  ADD COLUMN thumbnail_url VARCHAR(255),
+  ADD COLUMN medium_url VARCHAR(255),
+  ADD COLUMN large_url VARCHAR(255);
+
+CREATE TABLE media_hash (
+  sha256 VARCHAR(64) NOT NULL,
+  media_url VARCHAR(255) NOT NULL,
+  content_type VARCHAR(255),
+  thumbnail_url VARCHAR(255),
+  medium_url VARCHAR(255),
+  large_url VARCHAR(255),
+  created_at DATETIME(6),
+  PRIMARY KEY (sha256)
+) ENGINE = InnoDB;
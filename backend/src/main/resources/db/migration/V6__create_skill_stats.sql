@@ -0,0 +1,12 @@
+CREATE TABLE skill_stats (
+  skill_id BIGINT NOT NULL,
+  user_count BIGINT NOT NULL,
+  PRIMARY KEY (skill_id),
+  INDEX idx_skill_stats_user_count (user_count, skill_id)
+) ENGINE = InnoDB;
+
+INSERT INTO skill_stats (skill_id, user_count)
+SELECT s.skill_id, COUNT(us.user_id)
+FROM skill s
+LEFT JOIN user_skills us ON us.skill_id = s.skill_id
+GROUP BY s.skill_id;
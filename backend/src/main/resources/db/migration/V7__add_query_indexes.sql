@@ -0,0 +1,21 @@
+CREATE INDEX idx_post_user_created ON post (user_id, created_at, post_id);
+CREATE INDEX idx_post_skill_created ON post (skill_id, created_at, post_id);
+CREATE INDEX idx_post_created ON post (created_at, post_id);
+
+CREATE INDEX idx_comment_post_created ON comment (post_id, created_at);
+
+CREATE INDEX idx_post_like_user_post ON post_like (user_id, post_id);
+
+CREATE INDEX idx_follower_user_follower ON follower (user_id, follower_user_id);
+CREATE INDEX idx_follower_follower_user ON follower (follower_user_id, user_id);
+
+CREATE INDEX idx_notification_user_created ON notification (user_id, created_at);
+CREATE INDEX idx_notification_user_read_created ON notification (user_id, is_read, created_at);
+CREATE INDEX idx_notification_user_type_created
+  ON notification (user_id, notification_type, created_at);
+CREATE INDEX idx_notification_sender ON notification (sender_user_id);
+
+CREATE INDEX idx_learning_plans_user_created ON learning_plans (user_id, created_at);
+
+CREATE INDEX idx_progress_user_plan ON progress_entries (user_id, plan_id);
+CREATE INDEX idx_progress_plan ON progress_entries (plan_id);
@@ -0,0 +1,12 @@
+CREATE TABLE refresh_token (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  token_hash VARCHAR(64) NOT NULL,
+  user_id BIGINT NOT NULL,
+  expiry_date DATETIME(6) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  revoked_at DATETIME(6),
+  PRIMARY KEY (id),
+  CONSTRAINT uk_refresh_token_token_hash UNIQUE (token_hash),
+  INDEX idx_refresh_token_expiry (expiry_date),
+  CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
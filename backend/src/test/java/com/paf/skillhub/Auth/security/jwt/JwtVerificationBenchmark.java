@@ -0,0 +1,87 @@
+package com.paf.skillhub.Auth.security.jwt;
+
+import com.paf.skillhub.Auth.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Cost of authenticating one bearer token: building the key and parser per call (as JwtUtils
+// did before), the cached parser, and a VerifiedTokenCache hit. Not part of the test run;
+// start it through main() from the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+  private String secret;
+  private String token;
+  private JwtUtils jwtUtils;
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Setup
+  public void setUp() {
+    secret = Base64.getEncoder().encodeToString(new byte[64]);
+
+    jwtUtils = new JwtUtils();
+    ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+    ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+    jwtUtils.init();
+
+    UserDetailsImpl user = new UserDetailsImpl(1L, "benchmark", "benchmark@example.com", null,
+        false, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    token = jwtUtils.generateTokenFromUsername(user);
+
+    verifiedTokenCache = new VerifiedTokenCache();
+    ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 1000L);
+    ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+    verifiedTokenCache.init();
+    verifiedTokenCache.put(token, new VerifiedTokenCache.VerifiedToken(user, 1L, 0,
+        System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+  }
+
+  @Benchmark
+  public Claims keyAndParserPerCall() {
+    SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+  }
+
+  @Benchmark
+  public Claims cachedParser() {
+    return jwtUtils.parseJwtToken(token);
+  }
+
+  @Benchmark
+  public VerifiedTokenCache.VerifiedToken verifiedTokenCacheHit() {
+    return verifiedTokenCache.get(token);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(JwtVerificationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,175 @@
+package com.paf.skillhub.Auth.security.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paf.skillhub.Auth.models.RefreshToken;
+import com.paf.skillhub.Auth.models.RevokeReason;
+import com.paf.skillhub.Auth.repositories.RefreshTokenRepository;
+import com.paf.skillhub.User.models.User;
+import com.paf.skillhub.User.repositories.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+  private static final long EXPIRATION_MS = Duration.ofDays(14).toMillis();
+
+  @Mock
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @InjectMocks
+  private RefreshTokenService refreshTokenService;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", EXPIRATION_MS);
+    user = new User("alice", "alice@example.com");
+    user.setUserId(9L);
+  }
+
+  @Test
+  void onlyTheHashOfAnIssuedTokenIsStored() throws Exception {
+    when(userRepository.getReferenceById(9L)).thenReturn(user);
+
+    String token = refreshTokenService.issue(9L);
+
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(saved.capture());
+    assertThat(saved.getValue().getTokenHash())
+        .isNotEqualTo(token)
+        .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+            .digest(token.getBytes(StandardCharsets.UTF_8))));
+    assertThat(Duration.between(saved.getValue().getCreatedAt(), saved.getValue().getExpiryDate()))
+        .isEqualTo(Duration.ofMillis(EXPIRATION_MS));
+  }
+
+  @Test
+  void rotationRetiresTheTokenAndIssuesANewOne() {
+    RefreshToken active = token(null, null);
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(active));
+    when(refreshTokenRepository.markRevoked(eq(1L), any(), eq(RevokeReason.ROTATED)))
+        .thenReturn(1);
+    when(userRepository.getReferenceById(9L)).thenReturn(user);
+
+    Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("old-token");
+
+    assertThat(rotation).isPresent();
+    assertThat(rotation.get().user()).isSameAs(user);
+    assertThat(rotation.get().refreshToken()).isNotBlank().isNotEqualTo("old-token");
+    verify(refreshTokenRepository).save(any(RefreshToken.class));
+  }
+
+  @Test
+  void reusingARotatedTokenRevokesEverySession() {
+    RefreshToken rotated = token(Instant.now().minusSeconds(60), RevokeReason.ROTATED);
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(rotated));
+
+    assertThat(refreshTokenService.rotate("stolen-token")).isEmpty();
+
+    verify(refreshTokenRepository).revokeAllForUser(eq(9L), any(), eq(RevokeReason.REVOKED));
+    verify(refreshTokenRepository, never()).save(any());
+  }
+
+  @Test
+  void loggedOutTokenIsRejectedWithoutRevokingOtherSessions() {
+    RefreshToken loggedOut = token(Instant.now().minusSeconds(60), RevokeReason.LOGGED_OUT);
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(loggedOut));
+
+    assertThat(refreshTokenService.rotate("logged-out-token")).isEmpty();
+
+    verify(refreshTokenRepository, never()).revokeAllForUser(anyLong(), any(), any());
+  }
+
+  @Test
+  void tokenRevokedBeforeReasonsWereRecordedIsOnlyRejected() {
+    RefreshToken legacy = token(Instant.now().minusSeconds(60), null);
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(legacy));
+
+    assertThat(refreshTokenService.rotate("legacy-token")).isEmpty();
+
+    verify(refreshTokenRepository, never()).revokeAllForUser(anyLong(), any(), any());
+  }
+
+  @Test
+  void expiredTokenIsRejected() {
+    RefreshToken expired = token(null, null);
+    expired.setExpiryDate(Instant.now().minusSeconds(1));
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(expired));
+
+    assertThat(refreshTokenService.rotate("expired-token")).isEmpty();
+
+    verify(refreshTokenRepository, never()).markRevoked(anyLong(), any(), any());
+  }
+
+  @Test
+  void lockedUserCannotRotate() {
+    user.setAccountNonLocked(false);
+    when(refreshTokenRepository.findByTokenHash(anyString()))
+        .thenReturn(Optional.of(token(null, null)));
+
+    assertThat(refreshTokenService.rotate("token")).isEmpty();
+  }
+
+  @Test
+  void concurrentRotationOfTheSameTokenSucceedsOnce() {
+    when(refreshTokenRepository.findByTokenHash(anyString()))
+        .thenReturn(Optional.of(token(null, null)));
+    when(refreshTokenRepository.markRevoked(eq(1L), any(), eq(RevokeReason.ROTATED)))
+        .thenReturn(0);
+
+    assertThat(refreshTokenService.rotate("token")).isEmpty();
+
+    verify(refreshTokenRepository, never()).save(any());
+  }
+
+  @Test
+  void unknownTokenIsRejected() {
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+    assertThat(refreshTokenService.rotate("unknown")).isEmpty();
+  }
+
+  @Test
+  void logoutRecordsTheReason() {
+    when(refreshTokenRepository.findByTokenHash(anyString()))
+        .thenReturn(Optional.of(token(null, null)));
+
+    refreshTokenService.revoke("token");
+
+    verify(refreshTokenRepository).markRevoked(eq(1L), any(), eq(RevokeReason.LOGGED_OUT));
+  }
+
+  private RefreshToken token(Instant revokedAt, RevokeReason reason) {
+    Instant now = Instant.now();
+    RefreshToken refreshToken = new RefreshToken("hash", user, now.plusMillis(EXPIRATION_MS), now);
+    refreshToken.setId(1L);
+    refreshToken.setRevokedAt(revokedAt);
+    refreshToken.setRevokeReason(reason);
+    return refreshToken;
+  }
+}
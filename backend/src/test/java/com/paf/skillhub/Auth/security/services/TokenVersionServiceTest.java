@@ -0,0 +1,99 @@
+package com.paf.skillhub.Auth.security.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paf.skillhub.Auth.security.jwt.VerifiedTokenCache;
+import com.paf.skillhub.User.repositories.UserRepository;
+import com.paf.skillhub.utils.CacheConfig;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+  private static final Long USER_ID = 5L;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final TokenVersionService tokenVersionService = new TokenVersionService();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(tokenVersionService, "userRepository", userRepository);
+    ReflectionTestUtils.setField(tokenVersionService, "cacheManager",
+        new ConcurrentMapCacheManager(CacheConfig.TOKEN_VERSION_CACHE));
+    ReflectionTestUtils.setField(tokenVersionService, "transactionTemplate",
+        new TransactionTemplate(transactionManager));
+    ReflectionTestUtils.setField(tokenVersionService, "verifiedTokenCache", verifiedTokenCache);
+    ReflectionTestUtils.setField(tokenVersionService, "refreshTokenService", refreshTokenService);
+  }
+
+  @Test
+  void tokenOfTheCurrentVersionIsAccepted() {
+    when(userRepository.findTokenVersion(USER_ID)).thenReturn(Optional.of(3));
+
+    assertThat(tokenVersionService.isCurrent(USER_ID, 3)).isTrue();
+    assertThat(tokenVersionService.isCurrent(USER_ID, 2)).isFalse();
+  }
+
+  @Test
+  void versionIsReadOnceWhileCached() {
+    when(userRepository.findTokenVersion(USER_ID)).thenReturn(Optional.of(0));
+
+    for (int i = 0; i < 5; i++) {
+      tokenVersionService.isCurrent(USER_ID, 0);
+    }
+
+    verify(userRepository, times(1)).findTokenVersion(USER_ID);
+  }
+
+  @Test
+  void deletedUserHasNoValidTokens() {
+    when(userRepository.findTokenVersion(USER_ID)).thenReturn(Optional.empty());
+
+    assertThat(tokenVersionService.isCurrent(USER_ID, 0)).isFalse();
+  }
+
+  @Test
+  void revokeRejectsTokensIssuedBefore() {
+    when(userRepository.findTokenVersion(USER_ID))
+        .thenReturn(Optional.of(0))
+        .thenReturn(Optional.of(1));
+    assertThat(tokenVersionService.isCurrent(USER_ID, 0)).isTrue();
+
+    tokenVersionService.revoke(USER_ID);
+
+    verify(userRepository).incrementTokenVersion(USER_ID);
+    assertThat(tokenVersionService.isCurrent(USER_ID, 0)).isFalse();
+    assertThat(tokenVersionService.isCurrent(USER_ID, 1)).isTrue();
+  }
+
+  @Test
+  void revokeEndsCachedAndRefreshSessions() {
+    tokenVersionService.revoke(USER_ID);
+
+    verify(verifiedTokenCache).invalidateUser(USER_ID);
+    verify(refreshTokenService).revokeAll(USER_ID);
+  }
+}
@@ -0,0 +1,29 @@
+package com.paf.skillhub;
+
+import com.paf.skillhub.Search.services.SearchIndexService;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Repository tests against a real MySQL, since the queries and migrations are MySQL specific.
+// The schema is built by the Flyway migrations, as in production. Skipped without a Docker daemon.
+// Each test class gets a fresh container, so the Spring context bound to it is not reused either.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DirtiesContext
+public abstract class MySqlRepositoryTest {
+
+  @Container
+  @ServiceConnection
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  // Target of SearchIndexListener, which is not part of the JPA slice
+  @MockitoBean
+  protected SearchIndexService searchIndexService;
+}
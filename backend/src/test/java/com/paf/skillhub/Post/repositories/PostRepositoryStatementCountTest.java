@@ -0,0 +1,82 @@
+package com.paf.skillhub.Post.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.paf.skillhub.MySqlRepositoryTest;
+import com.paf.skillhub.Post.models.Post;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Guards against N+1 loading: the number of statements must not grow with the number of posts
+class PostRepositoryStatementCountTest extends MySqlRepositoryTest {
+
+  private static final long USER_ID = 1L;
+  private static final int POSTS = 100;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update("INSERT INTO roles (role_id, role_name) VALUES (1, 'ROLE_USER')");
+    jdbcTemplate.update("INSERT INTO users (user_id, username, email, account_non_locked, " +
+        "account_non_expired, credentials_non_expired, enabled, is_two_factor_enabled, role_id) " +
+        "VALUES (?, 'author', 'author@example.com', 1, 1, 1, 1, 0, 1)", USER_ID);
+    jdbcTemplate.update("INSERT INTO skill (skill_id, skill_name) VALUES (1, 'Cooking')");
+    for (long postId = 1; postId <= POSTS; postId++) {
+      jdbcTemplate.update("INSERT INTO post (post_id, user_id, skill_id, description, is_public, " +
+          "created_at) VALUES (?, ?, 1, 'post', 1, NOW(6) - INTERVAL ? MINUTE)",
+          postId, USER_ID, postId);
+      for (int media = 0; media < 2; media++) {
+        jdbcTemplate.update("INSERT INTO post_media (post_id, media_type, media_url, created_at) " +
+            "VALUES (?, 'PHOTO', 'https://example.com/media', NOW(6))", postId);
+      }
+    }
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void postsByUserLoadInOneStatement() {
+    List<Post> posts = postRepository.findByUserUserId(USER_ID);
+    touchAssociations(posts);
+
+    assertThat(posts).hasSize(POSTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void feedPageLoadsMediaInOneBatch() {
+    List<Post> posts = postRepository.findFeedFirstPage(USER_ID, PageRequest.of(0, POSTS));
+    touchAssociations(posts);
+
+    assertThat(posts).hasSize(POSTS);
+    // The page itself, then the media of every post on it
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  // Everything mapToPostResponseDTO reads
+  private void touchAssociations(List<Post> posts) {
+    for (Post post : posts) {
+      assertThat(post.getUser().getRole().getRoleName()).isNotNull();
+      assertThat(post.getSkill().getSkillName()).isEqualTo("Cooking");
+      assertThat(post.getPostMedia()).hasSize(2);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.paf.skillhub.Post.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.paf.skillhub.Post.models.Post;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class FeedCursorTest {
+
+  @Test
+  void decodesWhatItEncodes() {
+    FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53), 42L);
+
+    assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void keepsSubMillisecondPrecision() {
+    LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_238);
+    FeedCursor cursor = new FeedCursor(createdAt, 7L);
+
+    assertThat(FeedCursor.decode(cursor.encode()).createdAt()).isEqualTo(createdAt);
+  }
+
+  @Test
+  void isUrlSafeWithoutPadding() {
+    FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 1, 1, 0, 0, 0, 1), Long.MAX_VALUE);
+
+    assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  void startsAfterTheGivenPost() {
+    Post post = new Post();
+    post.setPostId(99L);
+    post.setCreatedAt(LocalDateTime.of(2025, 6, 1, 12, 0));
+
+    FeedCursor cursor = FeedCursor.decode(FeedCursor.after(post).encode());
+
+    assertThat(cursor.postId()).isEqualTo(99L);
+    assertThat(cursor.createdAt()).isEqualTo(post.getCreatedAt());
+  }
+
+  @Test
+  void rejectsMalformedCursors() {
+    assertThatThrownBy(() -> FeedCursor.decode("not base64!"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FeedCursor.decode(encode("2025-06-01T12:00")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FeedCursor.decode(encode("yesterday|5")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FeedCursor.decode(encode("2025-06-01T12:00|five")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String encode(String keyset) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,138 @@
+package com.paf.skillhub.Post.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.paf.skillhub.Post.repositories.PostRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PostCounterServiceTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PostRepository postRepository;
+
+  @InjectMocks
+  private PostCounterService postCounterService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Captor
+  private ArgumentCaptor<List<Object[]>> batch;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(postCounterService, "transactionTemplate",
+        new TransactionTemplate(transactionManager));
+  }
+
+  @Test
+  void flushWritesNetDeltasInOneBatch() {
+    postCounterService.incrementLikes(1L);
+    postCounterService.incrementLikes(1L);
+    postCounterService.decrementLikes(1L);
+    postCounterService.incrementComments(2L);
+
+    postCounterService.flush();
+
+    verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+    assertThat(batch.getValue()).containsExactlyInAnyOrder(
+        new Object[]{1L, 0L, 1L},
+        new Object[]{0L, 1L, 2L});
+  }
+
+  @Test
+  void pendingCountsAreServedUntilFlushed() {
+    postCounterService.incrementLikes(1L);
+    postCounterService.incrementComments(1L);
+    assertThat(postCounterService.pendingLikes(1L)).isEqualTo(1);
+    assertThat(postCounterService.pendingComments(1L)).isEqualTo(1);
+
+    postCounterService.flush();
+
+    assertThat(postCounterService.pendingLikes(1L)).isZero();
+    assertThat(postCounterService.pendingComments(1L)).isZero();
+  }
+
+  @Test
+  void nothingIsWrittenWithoutChanges() {
+    postCounterService.incrementLikes(1L);
+    postCounterService.decrementLikes(1L);
+
+    postCounterService.flush();
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void failedFlushIsRetried() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+        .thenReturn(new int[]{1});
+    postCounterService.incrementLikes(1L);
+
+    postCounterService.flush();
+    assertThat(postCounterService.pendingLikes(1L)).isEqualTo(1);
+    postCounterService.flush();
+
+    verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+    assertThat(batch.getAllValues().get(1)).containsExactly(new Object[]{1L, 0L, 1L});
+    assertThat(postCounterService.pendingLikes(1L)).isZero();
+    verify(transactionManager).rollback(any());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void deltasWaitForTheTransactionToCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postCounterService.incrementLikes(1L);
+      assertThat(postCounterService.pendingLikes(1L)).isZero();
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+      assertThat(postCounterService.pendingLikes(1L)).isEqualTo(1);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void rolledBackDeltasAreDropped() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postCounterService.incrementComments(1L);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(postCounterService.pendingComments(1L)).isZero();
+    postCounterService.flush();
+    verifyNoInteractions(jdbcTemplate);
+  }
+}
@@ -0,0 +1,106 @@
+package com.paf.skillhub.Post.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.paf.skillhub.Post.repositories.PostLikeRepository;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ViewerLikeCacheTest {
+
+  private static final Long VIEWER = 7L;
+
+  @Mock
+  private PostLikeRepository likeRepository;
+
+  @InjectMocks
+  private ViewerLikeCache viewerLikeCache;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(viewerLikeCache, "maxViewers", 100);
+    ReflectionTestUtils.setField(viewerLikeCache, "ttlMs", 600_000L);
+    viewerLikeCache.init();
+  }
+
+  @Test
+  void likedPostsAreNeverRuledOut() {
+    List<Long> liked = LongStream.rangeClosed(1, 1000).boxed().toList();
+    when(likeRepository.findPostIdsLikedByUser(VIEWER)).thenReturn(liked);
+
+    assertThat(liked).allMatch(postId -> viewerLikeCache.mightHaveLiked(VIEWER, postId));
+  }
+
+  @Test
+  void mostOtherPostsAreRuledOut() {
+    when(likeRepository.findPostIdsLikedByUser(VIEWER))
+        .thenReturn(LongStream.rangeClosed(1, 1000).boxed().toList());
+
+    long falsePositives = LongStream.rangeClosed(100_001, 110_000)
+        .filter(postId -> viewerLikeCache.mightHaveLiked(VIEWER, postId))
+        .count();
+
+    // Sized for ~1%; allow some slack for the hash spread
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  void filterIsLoadedOncePerViewer() {
+    when(likeRepository.findPostIdsLikedByUser(VIEWER)).thenReturn(List.of(1L));
+
+    viewerLikeCache.mightHaveLiked(VIEWER, 1L);
+    viewerLikeCache.mightHaveLiked(VIEWER, 2L);
+    viewerLikeCache.mightHaveLiked(VIEWER, 3L);
+
+    verify(likeRepository).findPostIdsLikedByUser(VIEWER);
+  }
+
+  @Test
+  void recordedLikeIsFoundInLoadedFilter() {
+    when(likeRepository.findPostIdsLikedByUser(VIEWER)).thenReturn(List.of());
+    assertThat(viewerLikeCache.mightHaveLiked(VIEWER, 42L)).isFalse();
+
+    viewerLikeCache.recordLike(VIEWER, 42L);
+
+    assertThat(viewerLikeCache.mightHaveLiked(VIEWER, 42L)).isTrue();
+  }
+
+  @Test
+  void recordedLikeIsAddedOnlyAfterCommit() {
+    when(likeRepository.findPostIdsLikedByUser(VIEWER)).thenReturn(List.of());
+    assertThat(viewerLikeCache.mightHaveLiked(VIEWER, 42L)).isFalse();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      viewerLikeCache.recordLike(VIEWER, 42L);
+      assertThat(viewerLikeCache.mightHaveLiked(VIEWER, 42L)).isFalse();
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(viewerLikeCache.mightHaveLiked(VIEWER, 42L)).isTrue();
+  }
+
+  @Test
+  void recordingForAnUnloadedViewerDoesNotLoadIt() {
+    viewerLikeCache.recordLike(VIEWER, 42L);
+
+    verifyNoInteractions(likeRepository);
+  }
+}
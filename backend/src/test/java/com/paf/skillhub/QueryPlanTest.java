@@ -0,0 +1,359 @@
+package com.paf.skillhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.paf.skillhub.Follow.repositories.FollowerRepository;
+import com.paf.skillhub.Notification.Enums.NotificationType;
+import com.paf.skillhub.Notification.repositories.NotificationRepository;
+import com.paf.skillhub.Post.repositories.CommentRepository;
+import com.paf.skillhub.Post.repositories.PostLikeRepository;
+import com.paf.skillhub.Post.repositories.PostRepository;
+import com.paf.skillhub.Post.repositories.TimelineRepository;
+import com.paf.skillhub.Skill.repositories.SkillRepository;
+import com.paf.skillhub.User.repositories.UserRepository;
+import com.paf.skillhub.learningplan.repositories.LearningPlanRepository;
+import com.paf.skillhub.progress.repositories.ProgressRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// EXPLAINs the SQL that the hot repository methods actually send, as captured by a Hibernate
+// StatementInspector, against the migrated schema and fails on full table scans or filesorts.
+// The tables are seeded and analyzed first, since MySQL scans tiny tables regardless of their
+// indexes.
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // ANALYZE TABLE commits implicitly
+class QueryPlanTest extends MySqlRepositoryTest {
+
+  private static final int USERS = 50;
+  private static final int SKILLS = 10;
+  private static final int POSTS = 3000;
+  private static final int PLANS = 1000;
+  private static final int PROGRESS_ENTRIES = 3000;
+
+  private static final long VIEWER = 3L;
+  private static final int PAGE_SIZE = 20;
+  private static final LocalDateTime CURSOR_CREATED_AT = LocalDateTime.of(2025, 1, 2, 0, 0);
+  private static final long CURSOR_POST_ID = 1000L;
+
+  private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+  private static boolean seeded;
+
+  @TestConfiguration
+  static class StatementCapture {
+
+    @Bean
+    HibernatePropertiesCustomizer statementInspector() {
+      return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+          (StatementInspector) sql -> {
+            statements.add(sql);
+            return sql;
+          });
+    }
+  }
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private TimelineRepository timelineRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private PostLikeRepository postLikeRepository;
+
+  @Autowired
+  private FollowerRepository followerRepository;
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private LearningPlanRepository learningPlanRepository;
+
+  @Autowired
+  private ProgressRepository progressRepository;
+
+  @BeforeEach
+  void seed() {
+    if (seeded) {
+      return;
+    }
+    jdbcTemplate.update("INSERT INTO roles (role_id, role_name) VALUES (1, 'ROLE_USER')");
+
+    List<Object[]> users = new ArrayList<>();
+    for (long userId = 1; userId <= USERS; userId++) {
+      users.add(new Object[]{userId, "user" + userId, "user" + userId + "@example.com"});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO users (user_id, username, email, account_non_locked, " +
+        "account_non_expired, credentials_non_expired, enabled, is_two_factor_enabled, role_id) " +
+        "VALUES (?, ?, ?, 1, 1, 1, 1, 0, 1)", users);
+
+    List<Object[]> skills = new ArrayList<>();
+    for (long skillId = 1; skillId <= SKILLS; skillId++) {
+      skills.add(new Object[]{skillId, "skill" + skillId});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO skill (skill_id, skill_name) VALUES (?, ?)", skills);
+
+    List<Object[]> userSkills = new ArrayList<>();
+    for (long userId = 1; userId <= USERS; userId++) {
+      userSkills.add(new Object[]{userId, userId % SKILLS + 1});
+      userSkills.add(new Object[]{userId, (userId + 3) % SKILLS + 1});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO user_skills (user_id, skill_id) VALUES (?, ?)",
+        userSkills);
+
+    List<Object[]> follows = new ArrayList<>();
+    for (long follower = 1; follower <= USERS; follower++) {
+      for (long offset = 1; offset <= 10; offset++) {
+        follows.add(new Object[]{(follower + offset - 1) % USERS + 1, follower});
+      }
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO follower (user_id, follower_user_id, created_at) " +
+        "VALUES (?, ?, NOW(6))", follows);
+
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    NotificationType[] types = NotificationType.values();
+    List<Object[]> posts = new ArrayList<>();
+    List<Object[]> postRows = new ArrayList<>(); // (postId, userId, createdAt)
+    List<Object[]> notifications = new ArrayList<>();
+    for (long postId = 1; postId <= POSTS; postId++) {
+      long userId = postId % USERS + 1;
+      Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(postId));
+      posts.add(new Object[]{postId, userId, postId % SKILLS + 1, createdAt});
+      postRows.add(new Object[]{postId, userId, createdAt});
+      notifications.add(new Object[]{userId, types[(int) (postId % types.length)].name(),
+          (postId + 7) % USERS + 1, postId % 3 == 0, createdAt});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO post (post_id, user_id, skill_id, description, " +
+        "is_public, created_at) VALUES (?, ?, ?, 'post', 1, ?)", posts);
+    jdbcTemplate.batchUpdate("INSERT INTO comment (post_id, user_id, comment_text, created_at) " +
+        "VALUES (?, ?, 'comment', ?)", postRows);
+    jdbcTemplate.batchUpdate("INSERT INTO post_like (post_id, user_id, created_at) " +
+        "VALUES (?, ?, ?)", postRows);
+    jdbcTemplate.batchUpdate("INSERT INTO timeline_entry (post_id, user_id, created_at) " +
+        "VALUES (?, ?, ?)", postRows);
+    jdbcTemplate.batchUpdate("INSERT INTO notification (user_id, notification_type, " +
+        "sender_user_id, message, is_read, created_at) VALUES (?, ?, ?, 'message', ?, ?)",
+        notifications);
+
+    List<Object[]> plans = new ArrayList<>();
+    for (long planId = 1; planId <= PLANS; planId++) {
+      plans.add(new Object[]{planId, Timestamp.valueOf(start.plusMinutes(planId)),
+          planId % USERS + 1});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO learning_plans (id, title, expected_duration_days, " +
+        "created_at, user_id) VALUES (?, 'plan', 30, ?, ?)", plans);
+
+    List<Object[]> progressEntries = new ArrayList<>();
+    for (long entryId = 1; entryId <= PROGRESS_ENTRIES; entryId++) {
+      long planId = entryId % PLANS + 1;
+      progressEntries.add(new Object[]{entryId, planId, planId % USERS + 1});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO progress_entries (id, title, plan_id, user_id) " +
+        "VALUES (?, 'entry', ?, ?)", progressEntries);
+
+    jdbcTemplate.execute("ANALYZE TABLE users, skill, user_skills, follower, post, comment, " +
+        "post_like, timeline_entry, notification, learning_plans, progress_entries");
+    seeded = true;
+  }
+
+  @Test
+  void feedFirstPageDoesNotScanPosts() {
+    String sql = capture("post", () ->
+        postRepository.findFeedFirstPage(VIEWER, PageRequest.of(0, PAGE_SIZE)));
+    // Authored, followed and same-skill posts are OR-ed, so there is no single range to read
+    // in order; the plan must still not scan the table
+    assertIndexed("post", sql, VIEWER, VIEWER, VIEWER, VIEWER, PAGE_SIZE);
+  }
+
+  @Test
+  void timelineFirstPageUsesTheTimelineIndex() {
+    String sql = capture("timeline_entry", () ->
+        timelineRepository.findFirstPage(VIEWER, PageRequest.of(0, PAGE_SIZE)));
+    assertIndexedWithoutSort("timeline_entry", sql, VIEWER, PAGE_SIZE);
+  }
+
+  @Test
+  void timelineNextPageIsARangeRead() {
+    String sql = capture("timeline_entry", () ->
+        timelineRepository.findPageAfter(VIEWER, CURSOR_CREATED_AT, CURSOR_POST_ID,
+            PageRequest.of(0, PAGE_SIZE)));
+    Timestamp cursor = Timestamp.valueOf(CURSOR_CREATED_AT);
+    assertIndexedWithoutSort("timeline_entry", sql, VIEWER, cursor, cursor, CURSOR_POST_ID,
+        PAGE_SIZE);
+  }
+
+  @Test
+  void postsOfAUserUseTheUserIndex() {
+    String sql = capture("post", () -> postRepository.findByUserUserId(VIEWER));
+    assertIndexed("post", sql, VIEWER);
+  }
+
+  @Test
+  void exportedPostsOfAUserAreReadInIndexOrder() {
+    String sql = capture("post", () -> postRepository.streamByUserUserId(VIEWER).close());
+    assertIndexedWithoutSort("post", sql, VIEWER);
+  }
+
+  @Test
+  void postsOfASkillUseTheSkillIndex() {
+    String sql = capture("post", () ->
+        postRepository.findBySkill(skillRepository.getReferenceById(VIEWER)));
+    assertIndexed("post", sql, VIEWER);
+  }
+
+  @Test
+  void commentsOfAPostUseThePostIndex() {
+    String sql = capture("comment", () -> commentRepository.findByPostPostId(VIEWER));
+    assertIndexed("comment", sql, VIEWER);
+  }
+
+  @Test
+  void likeStatesOfAPageUseTheUserIndex() {
+    String sql = capture("post_like", () ->
+        postLikeRepository.findLikedPostIds(VIEWER, List.of(1L, 2L, 3L, 4L, 5L)));
+    assertIndexed("post_like", sql, VIEWER, 1L, 2L, 3L, 4L, 5L);
+  }
+
+  @Test
+  void followChecksUseTheFollowerIndexes() {
+    String exists = capture("follower", () ->
+        followerRepository.existsByUserIdAndFollowerUserId(VIEWER, 4L));
+    assertIndexed("follower", exists, VIEWER, 4L);
+
+    String followed = capture("follower", () ->
+        followerRepository.findByFollowerUser(userRepository.getReferenceById(VIEWER)));
+    assertIndexed("follower", followed, VIEWER);
+
+    String popular = capture("follower", () ->
+        followerRepository.findFollowedUserIdsWithFollowersAbove(VIEWER, 10_000L));
+    assertIndexed("follower", popular, VIEWER, 10_000L);
+  }
+
+  @Test
+  void notificationsPageUsesTheUserIndex() {
+    String sql = capture("notification", () -> notificationRepository
+        .findByUserOrderByCreatedAtDesc(userRepository.getReferenceById(VIEWER),
+            PageRequest.of(0, PAGE_SIZE)));
+    assertIndexedWithoutSort("notification", sql, VIEWER, PAGE_SIZE);
+  }
+
+  @Test
+  void unreadNotificationsUseTheReadIndex() {
+    String sql = capture("notification", () -> notificationRepository
+        .findByUserAndIsReadFalseOrderByCreatedAtDesc(userRepository.getReferenceById(VIEWER)));
+    assertIndexedWithoutSort("notification", sql, VIEWER);
+  }
+
+  @Test
+  void notificationsOfATypeUseTheTypeIndex() {
+    String sql = capture("notification", () -> notificationRepository
+        .findByUserAndNotificationTypeOrderByCreatedAtDesc(userRepository.getReferenceById(VIEWER),
+            NotificationType.LIKE));
+    assertIndexedWithoutSort("notification", sql, VIEWER, NotificationType.LIKE.name());
+  }
+
+  @Test
+  void learningPlansOfAUserUseTheUserIndex() {
+    String sql = capture("learning_plans", () ->
+        learningPlanRepository.findByCreatedBy(userRepository.getReferenceById(VIEWER)));
+    assertIndexed("learning_plans", sql, VIEWER);
+  }
+
+  @Test
+  void progressEntriesUseTheUserAndPlanIndexes() {
+    String byUser = capture("progress_entries", () ->
+        progressRepository.findByUser(userRepository.getReferenceById(VIEWER)));
+    assertIndexed("progress_entries", byUser, VIEWER);
+
+    String byPlan = capture("progress_entries", () ->
+        progressRepository.findByPlan(learningPlanRepository.getReferenceById(VIEWER)));
+    assertIndexed("progress_entries", byPlan, VIEWER);
+
+    String byUserAndPlan = capture("progress_entries", () ->
+        progressRepository.findByUserAndPlan(userRepository.getReferenceById(VIEWER),
+            learningPlanRepository.getReferenceById(VIEWER)));
+    assertIndexed("progress_entries", byUserAndPlan, VIEWER, VIEWER);
+  }
+
+  // Runs the repository call and returns the first statement it sent that reads from table
+  private String capture(String table, Runnable query) {
+    statements.clear();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> query.run());
+    return statements.stream()
+        .filter(sql -> fromClause(table).matcher(sql).find())
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No statement read from " + table + ": "
+            + statements));
+  }
+
+  private void assertIndexed(String table, String sql, Object... args) {
+    assertPlan(table, sql, false, args);
+  }
+
+  private void assertIndexedWithoutSort(String table, String sql, Object... args) {
+    assertPlan(table, sql, true, args);
+  }
+
+  private void assertPlan(String table, String sql, boolean withoutSort, Object... args) {
+    assertThat(sql.chars().filter(c -> c == '?').count())
+        .as("bind parameters of %s", sql)
+        .isEqualTo(args.length);
+
+    // EXPLAIN names tables by the alias Hibernate gave them
+    Matcher from = fromClause(table).matcher(sql);
+    assertThat(from.find()).isTrue();
+    String alias = from.group(1);
+
+    List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+    assertThat(plan)
+        .as("plan of %s", sql)
+        .filteredOn(row -> alias.equals(row.get("table")))
+        .isNotEmpty()
+        .allSatisfy(row -> {
+          assertThat(row.get("type")).as("access type on %s", table).isNotEqualTo("ALL");
+          assertThat(row.get("key")).as("index used on %s", table).isNotNull();
+          if (withoutSort) {
+            assertThat(String.valueOf(row.get("Extra"))).doesNotContain("Using filesort");
+          }
+        });
+  }
+
+  private static Pattern fromClause(String table) {
+    return Pattern.compile("\\bfrom " + table + " (\\w+)", Pattern.CASE_INSENSITIVE);
+  }
+}